@@ -0,0 +1,126 @@
+import poker.benchmarks.OperacionesMotor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementación de OperacionesMotor en el paquete por defecto, donde puede
+ * usar directamente las clases del juego, incluidos sus métodos protegidos.
+ * Cada operación deja la mesa como la encontró para que las iteraciones
+ * midan siempre el mismo trabajo.
+ */
+public class OperacionesMotorPoker implements OperacionesMotor {
+    private TexasHoldem juego;
+    private Mazo mazo;
+
+    // Cartas del jugador 1 en la etapa (privadas y comunitarias) y su mejor mano de 5
+    private ArrayList<Carta> cartasJugador;
+    private Mano manoJugador;
+    private Mano mejorMano;
+
+    // Cartas en el orden del reparto, con las que se construye una mano en cada iteración
+    private List<Carta> cartasDesordenadas;
+
+    private int numeroJugadores;
+    private int cartasComunitarias;
+    private int pozoConAllIn;
+
+    @Override
+    public void preparar(int jugadores, String etapa, long semilla) {
+        numeroJugadores = jugadores;
+        juego = new TexasHoldem(jugadores, 1000);
+        juego.setSemilla(semilla);
+        juego.jugarRonda();
+
+        // Todos igualan o pasan hasta llegar a la etapa pedida
+        TexasHoldem.Etapa objetivo = TexasHoldem.Etapa.valueOf(etapa);
+        int acciones = 0;
+        while (juego.getEtapaActual().ordinal() < objetivo.ordinal()) {
+            if (!juego.igualar() && !juego.pasar() || ++acciones > 100 * jugadores) {
+                throw new IllegalStateException("No se pudo llegar a " + etapa + ": " + juego.getMensajeEstado());
+            }
+        }
+        cartasComunitarias = juego.getCartasComunitarias().size();
+
+        cartasJugador = new ArrayList<>(juego.getJugadores().get(0).getMano().getMano());
+        cartasJugador.addAll(juego.getCartasComunitarias());
+        manoJugador = new Mano(cartasJugador);
+        mejorMano = juego.encontrarMejorMano(cartasJugador);
+
+        cartasDesordenadas = List.copyOf(cartasJugador);
+
+        mazo = new Mazo(juego.generador);
+        prepararAllIn();
+    }
+
+    //Deja a todos all-in con aportes distintos salvo al último, que cubre al mayor,
+    //así el libro tiene una capa por jugador y no hay fichas que devolver
+    private void prepararAllIn() {
+        ArrayList<Jugador> jugadores = juego.getJugadores();
+        juego.libroApuestas.reiniciar();
+        pozoConAllIn = 0;
+        for (int i = 0; i < jugadores.size(); i++) {
+            Jugador jugador = jugadores.get(i);
+            int aporte = 100 * Math.min(i + 1, jugadores.size() - 1);
+            jugador.setAllIn(false);
+            juego.libroApuestas.aportar(i, aporte);
+            if (i < jugadores.size() - 1) {
+                juego.ponerAllIn(i);
+            }
+            pozoConAllIn += aporte;
+        }
+        juego.pozo = pozoConAllIn;
+    }
+
+    @Override
+    public int evaluarMano() {
+        return juego.evaluarMano(mejorMano);
+    }
+
+    @Override
+    public Object encontrarMejorMano() {
+        return juego.encontrarMejorMano(cartasJugador);
+    }
+
+    @Override
+    public int ordenarMano() {
+        // Mano es inmutable y ordena sus valores una sola vez, al construirse
+        return new Mano(cartasDesordenadas).getValoresOrdenados()[0];
+    }
+
+    @Override
+    public Object contarValores() {
+        return manoJugador.contarValores();
+    }
+
+    @Override
+    public Object barajearYRepartir() {
+        // 2 cartas por jugador, las comunitarias de la etapa y una quemada por calle
+        int quemadas = cartasComunitarias == 0 ? 0 : cartasComunitarias - 2;
+        mazo.reiniciar();
+        mazo.barajear(2 * numeroJugadores + cartasComunitarias + quemadas);
+
+        ArrayList<Carta> ultimas = null;
+        for (int i = 0; i < numeroJugadores; i++) {
+            ultimas = mazo.sacarNCartas(2);
+        }
+        for (int i = 0; i < quemadas; i++) {
+            mazo.quemarCarta();
+        }
+        for (int i = 0; i < cartasComunitarias; i++) {
+            mazo.sacarCarta();
+        }
+        return ultimas;
+    }
+
+    @Override
+    public Object crearPozosLaterales() {
+        juego.pozo = pozoConAllIn;
+        return juego.crearPozosLaterales();
+    }
+
+    @Override
+    public Object obtenerEstadoJuego() {
+        return juego.obtenerEstadoJuego();
+    }
+}
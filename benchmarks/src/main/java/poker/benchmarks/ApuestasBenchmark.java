@@ -0,0 +1,33 @@
+package poker.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Liquidación y estado de la mesa: creación de pozos laterales con varios
+ * all-in y la foto del estado que la interfaz pide en cada refresco.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApuestasBenchmark {
+
+    @Benchmark
+    public Object crearPozosLaterales(MesaEstado mesa) {
+        return mesa.motor.crearPozosLaterales();
+    }
+
+    @Benchmark
+    public Object obtenerEstadoJuego(MesaEstado mesa) {
+        return mesa.motor.obtenerEstadoJuego();
+    }
+}
@@ -0,0 +1,29 @@
+package poker.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada de benchmarks.jar.
+ * Acepta las mismas opciones que la línea de comandos de JMH y agrega siempre
+ * el perfilador gc, para que cada resultado muestre también la tasa de
+ * asignación (gc.alloc.rate.norm, bytes por operación).
+ */
+public class EjecutarBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions linea = new CommandLineOptions(args);
+        if (linea.shouldHelp() || linea.shouldList() || linea.shouldListWithParams()
+                || linea.shouldListProfilers() || linea.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        new Runner(new OptionsBuilder()
+                .parent(linea)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,43 @@
+package poker.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluación de manos: evaluarMano, encontrarMejorMano y los métodos de Mano
+ * que usan las comprobaciones de combinaciones.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluacionBenchmark {
+
+    @Benchmark
+    public int evaluarMano(MesaEstado mesa) {
+        return mesa.motor.evaluarMano();
+    }
+
+    @Benchmark
+    public Object encontrarMejorMano(MesaEstado mesa) {
+        return mesa.motor.encontrarMejorMano();
+    }
+
+    @Benchmark
+    public int ordenarMano(MesaEstado mesa) {
+        return mesa.motor.ordenarMano();
+    }
+
+    @Benchmark
+    public Object contarValores(MesaEstado mesa) {
+        return mesa.motor.contarValores();
+    }
+}
@@ -0,0 +1,29 @@
+package poker.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Mesa de Texas Hold'em compartida por los benchmarks, parametrizada por
+ * número de jugadores y etapa. La semilla es fija para que cada combinación
+ * mida siempre las mismas cartas.
+ */
+@State(Scope.Thread)
+public class MesaEstado {
+    @Param({"2", "6", "10"})
+    public int jugadores;
+
+    @Param({"PRE_FLOP", "FLOP", "TURN", "RIVER"})
+    public String etapa;
+
+    public OperacionesMotor motor;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        motor = OperacionesMotor.cargar();
+        motor.preparar(jugadores, etapa, 42L);
+    }
+}
@@ -0,0 +1,46 @@
+package poker.benchmarks;
+
+/**
+ * Operaciones del motor que miden los benchmarks.
+ * Las clases del juego están en el paquete por defecto y JMH exige que los
+ * benchmarks tengan paquete, que no puede importar el paquete por defecto.
+ * Por eso la implementación (OperacionesMotorPoker) vive en el paquete por
+ * defecto y se carga por nombre una sola vez; la llamada a través de la
+ * interfaz es monomórfica y el JIT la integra sin costo.
+ */
+public interface OperacionesMotor {
+
+    //Prepara una mesa de Texas Hold'em con los jugadores dados, jugada hasta la etapa indicada
+    void preparar(int jugadores, String etapa, long semilla);
+
+    //JuegoPoker.evaluarMano sobre la mejor mano de 5 cartas del jugador en la etapa
+    int evaluarMano();
+
+    //TexasHoldem.encontrarMejorMano con las cartas privadas y comunitarias de la etapa
+    Object encontrarMejorMano();
+
+    //Construcción de una Mano, que cuenta y ordena sus valores una sola vez
+    int ordenarMano();
+
+    //Mano.contarValores de las cartas del jugador en la etapa
+    Object contarValores();
+
+    //Mazo.reiniciar, barajear y sacarNCartas para todas las cartas que usa la mano
+    Object barajearYRepartir();
+
+    //JuegoPoker.crearPozosLaterales con todos los jugadores all-in salvo uno
+    Object crearPozosLaterales();
+
+    //JuegoPoker.obtenerEstadoJuego tal como lo pide la interfaz en cada refresco
+    Object obtenerEstadoJuego();
+
+    //Crea la implementación que está en el paquete por defecto
+    static OperacionesMotor cargar() {
+        try {
+            return (OperacionesMotor) Class.forName("OperacionesMotorPoker")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No se encontró OperacionesMotorPoker", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package poker.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reparto: recoger el mazo, barajear lo que usa la mano y sacar las cartas
+ * privadas y comunitarias hasta la etapa medida.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepartoBenchmark {
+
+    @Benchmark
+    public Object barajearYRepartir(MesaEstado mesa) {
+        return mesa.motor.barajearYRepartir();
+    }
+}
@@ -0,0 +1,252 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Asesor de descarte para Five Card Draw.
+ * Para una mano de 5 cartas recorre todos los descartes legales (hasta 3
+ * cartas, o 4 si la mano tiene un As, como en PokerCincoCartas) y, para cada
+ * uno, enumera todas las reposiciones posibles con las 47 cartas que no están
+ * en la mano. Así obtiene la distribución exacta de la categoría final.
+ *
+ * Las opciones se comparan por el valor esperado de un peso por categoría
+ * (suma de peso por probabilidad). Quien llama puede pasar sus pesos, por
+ * ejemplo lo que paga cada mano o pesosAlMenos para llegar a una categoría.
+ * Por defecto el peso es el percentil de la categoría entre las manos de
+ * cinco cartas (las de categoría menor más la mitad de las de la misma), o
+ * sea la probabilidad de ganarle a la mano servida de un rival contando solo
+ * la categoría y partiendo los empates.
+ *
+ * Cada descarte se enumera en su propia tarea del ForkJoinPool común, sobre
+ * máscaras de bits por palo y con EvaluadorSieteCartas, sin crear objetos
+ * dentro del recorrido. Las cartas de los rivales no se conocen, así que se
+ * consideran dentro del mazo.
+ */
+public class AsesorDescarte {
+    public static final int MAXIMO_DESCARTES = 3;
+    public static final int MAXIMO_DESCARTES_CON_AS = 4;
+
+    private static final int CARTAS_MANO = 5;
+    private static final int CARTAS_RESTANTES = Carta.TOTAL_CARTAS - CARTAS_MANO;
+
+    // Manos de cinco cartas por categoría, de carta alta a escalera real
+    private static final long[] MANOS_POR_CATEGORIA = {
+            1302540, 1098240, 123552, 54912, 10200, 5108, 3744, 624, 36, 4
+    };
+    private static final double[] PESOS_PERCENTIL = new double[OpcionDescarte.CATEGORIAS];
+
+    // Subconjuntos de posiciones a descartar (bit i = carta i), de menos a más cartas
+    private static final int[] SUBCONJUNTOS = new int[1 << CARTAS_MANO];
+
+    static {
+        long total = Combinaciones.contar(Carta.TOTAL_CARTAS, CARTAS_MANO);
+        long menores = 0;
+        for (int categoria = 0; categoria < OpcionDescarte.CATEGORIAS; categoria++) {
+            PESOS_PERCENTIL[categoria] = (menores + MANOS_POR_CATEGORIA[categoria] / 2.0) / total;
+            menores += MANOS_POR_CATEGORIA[categoria];
+        }
+
+        int n = 0;
+        for (int cuantas = 0; cuantas <= CARTAS_MANO; cuantas++) {
+            for (int subconjunto : Combinaciones.todas(CARTAS_MANO, cuantas)) {
+                SUBCONJUNTOS[n++] = subconjunto;
+            }
+        }
+    }
+
+    private AsesorDescarte() {
+    }
+
+    //Pesos por defecto: percentil de cada categoría entre las manos de cinco cartas
+    public static double[] pesosPercentil() {
+        return PESOS_PERCENTIL.clone();
+    }
+
+    //Pesos para maximizar la probabilidad de terminar con esa categoría o una mejor
+    public static double[] pesosAlMenos(int categoria) {
+        double[] pesos = new double[OpcionDescarte.CATEGORIAS];
+        Arrays.fill(pesos, categoria, pesos.length, 1);
+        return pesos;
+    }
+
+    //Mejor descarte para la mano, con los pesos por defecto
+    public static OpcionDescarte aconsejar(Mano mano) {
+        return aconsejar(mano.getMano());
+    }
+
+    public static OpcionDescarte aconsejar(List<Carta> cartas) {
+        return evaluarOpciones(cartas)[0];
+    }
+
+    public static OpcionDescarte aconsejar(List<Carta> cartas, double[] pesos) {
+        return evaluarOpciones(cartas, pesos)[0];
+    }
+
+    public static OpcionDescarte[] evaluarOpciones(List<Carta> cartas) {
+        return evaluarOpciones(cartas, PESOS_PERCENTIL);
+    }
+
+    //Todos los descartes legales, del mayor al menor valor esperado con esos pesos (uno
+    //por categoría); con el mismo valor va primero el que descarta menos cartas
+    public static OpcionDescarte[] evaluarOpciones(List<Carta> cartas, double[] pesos) {
+        int[] mano = validar(cartas);
+        if (pesos == null || pesos.length != OpcionDescarte.CATEGORIAS) {
+            throw new IllegalArgumentException("Se necesita un peso por cada una de las "
+                    + OpcionDescarte.CATEGORIAS + " categorías.");
+        }
+
+        boolean tieneAs = false;
+        for (Carta carta : cartas) {
+            if (carta.getValor() == 14) {
+                tieneAs = true;
+            }
+        }
+        int maximo = tieneAs ? MAXIMO_DESCARTES_CON_AS : MAXIMO_DESCARTES;
+        int opciones = 0;
+        while (opciones < SUBCONJUNTOS.length && Integer.bitCount(SUBCONJUNTOS[opciones]) <= maximo) {
+            opciones++;
+        }
+
+        // Cartas que pueden llegar al reponer
+        boolean[] enMano = new boolean[Carta.TOTAL_CARTAS];
+        for (int id : mano) {
+            enMano[id] = true;
+        }
+        int[] restantes = new int[CARTAS_RESTANTES];
+        int n = 0;
+        for (int id = 0; id < Carta.TOTAL_CARTAS; id++) {
+            if (!enMano[id]) {
+                restantes[n++] = id;
+            }
+        }
+
+        long[][] conteos = new long[opciones][OpcionDescarte.CATEGORIAS];
+        ForkJoinPool.commonPool().invoke(new TareaDescarte(mano, restantes, conteos, 0, opciones));
+
+        OpcionDescarte[] resultado = new OpcionDescarte[opciones];
+        for (int i = 0; i < opciones; i++) {
+            int subconjunto = SUBCONJUNTOS[i];
+            int[] posiciones = new int[Integer.bitCount(subconjunto)];
+            int k = 0;
+            for (int posicion = 0; posicion < CARTAS_MANO; posicion++) {
+                if ((subconjunto & (1 << posicion)) != 0) {
+                    posiciones[k++] = posicion + 1;
+                }
+            }
+            resultado[i] = new OpcionDescarte(posiciones, Combinaciones.contar(CARTAS_RESTANTES, posiciones.length),
+                    conteos[i], pesos);
+        }
+        // El ordenamiento es estable, así que los empates conservan el orden por número de descartes
+        Arrays.sort(resultado, Comparator.comparingDouble(OpcionDescarte::getValorEsperado).reversed());
+        return resultado;
+    }
+
+    //Ids de las 5 cartas; deben ser 5 y distintas
+    private static int[] validar(List<Carta> cartas) {
+        if (cartas == null || cartas.size() != CARTAS_MANO) {
+            throw new IllegalArgumentException("El asesor de descarte necesita una mano de " + CARTAS_MANO + " cartas.");
+        }
+        int[] ids = new int[CARTAS_MANO];
+        long vistas = 0;
+        for (int i = 0; i < CARTAS_MANO; i++) {
+            Carta carta = cartas.get(i);
+            if (carta == null || (vistas & (1L << carta.getId())) != 0) {
+                throw new IllegalArgumentException("La mano tiene cartas nulas o repetidas: " + cartas);
+            }
+            vistas |= 1L << carta.getId();
+            ids[i] = carta.getId();
+        }
+        return ids;
+    }
+
+    /**
+     * Enumera los descartes con índice en [desde, hasta) de SUBCONJUNTOS. Cada
+     * descarte es una hoja; los de 3 y 4 cartas tienen casi todo el trabajo y el
+     * robo de tareas del pool reparte el resto.
+     */
+    private static class TareaDescarte extends RecursiveAction {
+        private final int[] mano;
+        private final int[] restantes;
+        private final long[][] conteos;
+        private final int desde;
+        private final int hasta;
+
+        TareaDescarte(int[] mano, int[] restantes, long[][] conteos, int desde, int hasta) {
+            this.mano = mano;
+            this.restantes = restantes;
+            this.conteos = conteos;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde == 1) {
+                enumerar(desde);
+                return;
+            }
+            int mitad = (desde + hasta) >>> 1;
+            invokeAll(new TareaDescarte(mano, restantes, conteos, desde, mitad),
+                    new TareaDescarte(mano, restantes, conteos, mitad, hasta));
+        }
+
+        private void enumerar(int opcion) {
+            int subconjunto = SUBCONJUNTOS[opcion];
+            int faltan = Integer.bitCount(subconjunto);
+            long[] conteo = conteos[opcion];
+
+            // Máscaras de las cartas que se quedan y, en cada nivel, con las repuestas hasta ahí
+            int[][] niveles = new int[faltan + 1][4];
+            for (int posicion = 0; posicion < CARTAS_MANO; posicion++) {
+                if ((subconjunto & (1 << posicion)) == 0) {
+                    agregar(niveles[0], mano[posicion]);
+                }
+            }
+
+            if (faltan == 0) {
+                int[] m = niveles[0];
+                int clave = EvaluadorSieteCartas.evaluarMascaras(m[0], m[1], m[2], m[3]);
+                conteo[EvaluadorManos.categoria(clave)]++;
+                return;
+            }
+
+            // Combinaciones de reposición: las primeras faltan - 1 cartas se recorren con
+            // Combinaciones rehaciendo solo los niveles que cambian, y la última con un ciclo
+            // simple sobre las máscaras del nivel anterior
+            int n = restantes.length;
+            int ultimo = faltan - 1;
+            int[] indices = new int[ultimo];
+            Combinaciones.iniciar(indices, 0);
+            int cambio = 0;
+            do {
+                for (int nivel = cambio; nivel < ultimo; nivel++) {
+                    int[] m = niveles[nivel + 1];
+                    System.arraycopy(niveles[nivel], 0, m, 0, 4);
+                    agregar(m, restantes[indices[nivel]]);
+                }
+                int[] m = niveles[ultimo];
+                int a = m[0], b = m[1], c = m[2], d = m[3];
+                for (int i = ultimo == 0 ? 0 : indices[ultimo - 1] + 1; i < n; i++) {
+                    int id = restantes[i];
+                    int bit = 1 << (id % 13);
+                    int clave;
+                    switch (id / 13) {
+                        case Carta.CORAZONES: clave = EvaluadorSieteCartas.evaluarMascaras(a | bit, b, c, d); break;
+                        case Carta.DIAMANTES: clave = EvaluadorSieteCartas.evaluarMascaras(a, b | bit, c, d); break;
+                        case Carta.TREBOLES: clave = EvaluadorSieteCartas.evaluarMascaras(a, b, c | bit, d); break;
+                        default: clave = EvaluadorSieteCartas.evaluarMascaras(a, b, c, d | bit); break;
+                    }
+                    conteo[clave >>> EvaluadorManos.BITS_CATEGORIA]++;
+                }
+                // La última carta necesita lugar después de las demás
+                cambio = Combinaciones.siguiente(indices, n - 1);
+            } while (cambio >= 0);
+        }
+    }
+
+    private static void agregar(int[] mascaras, int id) {
+        mascaras[id / 13] |= 1 << (id % 13);
+    }
+}
@@ -0,0 +1,47 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Bot que elige al azar entre las acciones que tienen sentido en el turno.
+ * Sirve para generar tráfico variado en las simulaciones.
+ */
+public class BotAleatorio implements EstrategiaBot {
+    private final RandomGenerator generador;
+
+    public BotAleatorio(RandomGenerator generador) {
+        this.generador = generador;
+    }
+
+    @Override
+    public Accion decidir(JuegoPoker juego, int indiceJugador) {
+        int tirada = generador.nextInt(100);
+
+        // Sin apuesta activa: pasar o abrir la apuesta
+        if (juego.getApuestaActual() == 0) {
+            if (tirada < 60) {
+                return Accion.PASAR;
+            } else if (tirada < 95) {
+                return Accion.APOSTAR;
+            }
+            return Accion.RETIRARSE;
+        }
+
+        // Con apuesta activa: igualar, subir o retirarse
+        if (tirada < 60) {
+            return Accion.IGUALAR;
+        } else if (tirada < 75) {
+            return Accion.SUBIR;
+        }
+        return Accion.RETIRARSE;
+    }
+
+    @Override
+    public int[] descartar(PokerCincoCartas juego, int indiceJugador) {
+        // Descartar de 0 a 3 cartas cualesquiera
+        int cuantas = generador.nextInt(4);
+        int[] posiciones = new int[cuantas];
+        for (int i = 0; i < cuantas; i++) {
+            posiciones[i] = i + 1;
+        }
+        return posiciones;
+    }
+}
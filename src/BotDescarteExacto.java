@@ -0,0 +1,13 @@
+/**
+ * Bot que apuesta igual que BotPorFuerza pero descarta con AsesorDescarte,
+ * es decir, elige el descarte con el mayor valor esperado según los pesos por
+ * defecto del asesor.
+ */
+public class BotDescarteExacto extends BotPorFuerza {
+
+    @Override
+    public int[] descartar(PokerCincoCartas juego, int indiceJugador) {
+        OpcionDescarte opcion = juego.aconsejarDescarte(indiceJugador);
+        return opcion == null ? new int[0] : opcion.getPosiciones();
+    }
+}
@@ -0,0 +1,65 @@
+import java.util.List;
+
+/**
+ * Bot que juega según la categoría de la mano que tiene en ese momento.
+ * Apuesta o sube con dos pares o mejor, sigue con un par y se retira con
+ * carta alta cuando le cuesta fichas continuar.
+ */
+public class BotPorFuerza implements EstrategiaBot {
+
+    @Override
+    public Accion decidir(JuegoPoker juego, int indiceJugador) {
+        int categoria = categoriaActual(juego, indiceJugador);
+        boolean hayApuesta = juego.getApuestaActual() > 0;
+
+        if (categoria >= EvaluadorManos.DOS_PARES) {
+            return hayApuesta ? Accion.SUBIR : Accion.APOSTAR;
+        }
+        if (categoria >= EvaluadorManos.PAR || esPreFlop(juego)) {
+            return hayApuesta ? Accion.IGUALAR : Accion.PASAR;
+        }
+        return hayApuesta ? Accion.RETIRARSE : Accion.PASAR;
+    }
+
+    @Override
+    public int[] descartar(PokerCincoCartas juego, int indiceJugador) {
+        List<Carta> cartas = juego.getJugadores().get(indiceJugador).getMano().getMano();
+        int clave = EvaluadorManos.evaluar(cartas);
+
+        // Con escalera o mejor, las 5 cartas cuentan
+        if (EvaluadorManos.categoria(clave) >= EvaluadorManos.ESCALERA) {
+            return new int[0];
+        }
+
+        // Conservar las cartas repetidas y cambiar las sueltas, hasta 3
+        int[] conteo = new int[15];
+        for (Carta carta : cartas) {
+            conteo[carta.getValor()]++;
+        }
+        int[] posiciones = new int[3];
+        int cuantas = 0;
+        for (int i = 0; i < cartas.size() && cuantas < posiciones.length; i++) {
+            if (conteo[cartas.get(i).getValor()] == 1) {
+                posiciones[cuantas++] = i + 1;
+            }
+        }
+        int[] resultado = new int[cuantas];
+        System.arraycopy(posiciones, 0, resultado, 0, cuantas);
+        return resultado;
+    }
+
+    //Categoría de la mano actual del jugador en cualquiera de las variantes
+    private int categoriaActual(JuegoPoker juego, int indiceJugador) {
+        if (juego instanceof TexasHoldem) {
+            int clave = ((TexasHoldem) juego).obtenerValorManoActual(indiceJugador);
+            return clave < 0 ? EvaluadorManos.CARTA_ALTA : EvaluadorManos.categoria(clave);
+        }
+        Mano mano = juego.getJugadores().get(indiceJugador).getMano();
+        return mano == null ? EvaluadorManos.CARTA_ALTA : EvaluadorManos.categoria(EvaluadorManos.evaluar(mano));
+    }
+
+    private boolean esPreFlop(JuegoPoker juego) {
+        return juego instanceof TexasHoldem
+                && ((TexasHoldem) juego).getEtapaActual() == TexasHoldem.Etapa.PRE_FLOP;
+    }
+}
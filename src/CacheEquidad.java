@@ -0,0 +1,244 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché persistente de equidades fuera del heap.
+ * Guarda la equidad de una situación canónica (clave de IndiceCanonico) contra
+ * cierto número de rivales al azar en un archivo mapeado en memoria, así que
+ * sobrevive entre ejecuciones, no tarda nada en abrir y no le agrega trabajo
+ * al recolector de basura aunque tenga decenas de millones de entradas.
+ *
+ * La tabla tiene tamaño fijo y usa direccionamiento abierto por grupos: cada
+ * clave solo puede vivir en las 8 entradas de su grupo (128 bytes). Cuando el
+ * grupo está lleno se desaloja con el algoritmo del reloj (CLOCK): cada lectura
+ * marca la entrada como usada, y la manecilla del grupo le quita la marca a
+ * las usadas y desaloja la primera que encuentre sin marca.
+ *
+ * Formato del archivo (big endian):
+ *   int magia, int versión, int número de grupos, relleno hasta 64 bytes
+ *   grupos de 8 entradas de 16 bytes:
+ *     long clave, float equidad, byte rivales, byte estado, byte manecilla, byte libre
+ * El estado vale 0 si la entrada está libre; el bit 1 marca ocupada y el 2 usada.
+ * La manecilla solo se usa en la primera entrada de cada grupo.
+ */
+public final class CacheEquidad implements AutoCloseable {
+    public static final String ARCHIVO_PREDETERMINADO = "equidad.cache";
+    public static final long ENTRADAS_PREDETERMINADAS = 1L << 20;
+
+    static final int MAGIA = 0x45514341; // "EQCA"
+    static final int VERSION = 1;
+    private static final int TAMANO_ENCABEZADO = 64;
+    private static final int POSICION_GRUPOS = 8;
+
+    private static final int TAMANO_ENTRADA = 16;
+    private static final int ENTRADAS_POR_GRUPO = 8;
+    private static final int TAMANO_GRUPO = TAMANO_ENTRADA * ENTRADAS_POR_GRUPO;
+
+    private static final int DESPLAZAMIENTO_EQUIDAD = 8;
+    private static final int DESPLAZAMIENTO_RIVALES = 12;
+    private static final int DESPLAZAMIENTO_ESTADO = 13;
+    private static final int DESPLAZAMIENTO_MANECILLA = 14;
+    private static final byte OCUPADA = 1;
+    private static final byte USADA = 2;
+
+    // Los grupos se protegen por franjas para que los hilos no se estorben entre sí
+    private static final int FRANJAS = 256;
+
+    private static CacheEquidad predeterminada;
+    private static boolean predeterminadaBuscada;
+
+    private final Path archivo;
+    private final MappedByteBuffer buffer;
+    private final int grupos;
+    private final Object[] cerrojos = new Object[FRANJAS];
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder desalojos = new LongAdder();
+
+    private CacheEquidad(Path archivo, MappedByteBuffer buffer, int grupos) {
+        this.archivo = archivo;
+        this.buffer = buffer;
+        this.grupos = grupos;
+        for (int i = 0; i < FRANJAS; i++) {
+            cerrojos[i] = new Object();
+        }
+    }
+
+    //Abre la caché del archivo o la crea con capacidad para unas maximoEntradas
+    //(redondeadas a potencia de 2); si el archivo ya existe se respeta su tamaño
+    public static CacheEquidad abrir(Path archivo, long maximoEntradas) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            boolean nueva = canal.size() == 0;
+            int grupos;
+            if (nueva) {
+                long necesarios = Math.max(1, (maximoEntradas + ENTRADAS_POR_GRUPO - 1) / ENTRADAS_POR_GRUPO);
+                long potencia = Long.highestOneBit(necesarios);
+                if (potencia < necesarios) {
+                    potencia <<= 1;
+                }
+                if (TAMANO_ENCABEZADO + potencia * TAMANO_GRUPO > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Una caché de " + maximoEntradas + " entradas no cabe en un solo mapeo.");
+                }
+                grupos = (int) potencia;
+            } else {
+                MappedByteBuffer encabezado = canal.map(FileChannel.MapMode.READ_ONLY, 0, TAMANO_ENCABEZADO);
+                if (encabezado.getInt(0) != MAGIA || encabezado.getInt(4) != VERSION) {
+                    throw new IOException("El archivo " + archivo + " no es una caché de equidad de la versión " + VERSION + ".");
+                }
+                grupos = encabezado.getInt(POSICION_GRUPOS);
+                if (Integer.bitCount(grupos) != 1 || canal.size() != TAMANO_ENCABEZADO + (long) grupos * TAMANO_GRUPO) {
+                    throw new IOException("El archivo " + archivo + " no tiene el tamaño que indica su encabezado.");
+                }
+            }
+
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0,
+                    TAMANO_ENCABEZADO + (long) grupos * TAMANO_GRUPO);
+            if (nueva) {
+                buffer.putInt(0, MAGIA);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(POSICION_GRUPOS, grupos);
+                buffer.force();
+            }
+            return new CacheEquidad(archivo, buffer, grupos);
+        }
+    }
+
+    //Caché del archivo indicado por la propiedad poker.cacheEquidad, o equidad.cache en el
+    //directorio de trabajo, con poker.cacheEquidad.entradas entradas; null si no se puede abrir
+    public static synchronized CacheEquidad obtenerPredeterminada() {
+        if (!predeterminadaBuscada) {
+            predeterminadaBuscada = true;
+            Path archivo = Path.of(System.getProperty("poker.cacheEquidad", ARCHIVO_PREDETERMINADO));
+            long entradas = Long.getLong("poker.cacheEquidad.entradas", ENTRADAS_PREDETERMINADAS);
+            try {
+                predeterminada = abrir(archivo, entradas);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("No se pudo abrir la caché de equidad: " + e.getMessage());
+            }
+        }
+        return predeterminada;
+    }
+
+    //Equidad guardada para la situación y el número de rivales, o NaN si no está
+    public float buscar(long clave, int rivales) {
+        int grupo = grupo(clave, rivales);
+        int inicio = TAMANO_ENCABEZADO + grupo * TAMANO_GRUPO;
+        synchronized (cerrojos[grupo & (FRANJAS - 1)]) {
+            for (int i = 0; i < ENTRADAS_POR_GRUPO; i++) {
+                int entrada = inicio + i * TAMANO_ENTRADA;
+                byte estado = buffer.get(entrada + DESPLAZAMIENTO_ESTADO);
+                // Nunca se vacía una entrada, así que después de una libre ya no hay nada
+                if (estado == 0) {
+                    break;
+                }
+                if (coincide(entrada, clave, rivales)) {
+                    buffer.put(entrada + DESPLAZAMIENTO_ESTADO, (byte) (estado | USADA));
+                    aciertos.increment();
+                    return buffer.getFloat(entrada + DESPLAZAMIENTO_EQUIDAD);
+                }
+            }
+        }
+        fallos.increment();
+        return Float.NaN;
+    }
+
+    //Guarda o actualiza la equidad de la situación; si el grupo está lleno desaloja con el reloj
+    public void guardar(long clave, int rivales, float equidad) {
+        if (rivales < 1 || rivales > 127) {
+            throw new IllegalArgumentException("Número de rivales fuera de rango: " + rivales);
+        }
+        int grupo = grupo(clave, rivales);
+        int inicio = TAMANO_ENCABEZADO + grupo * TAMANO_GRUPO;
+        synchronized (cerrojos[grupo & (FRANJAS - 1)]) {
+            for (int i = 0; i < ENTRADAS_POR_GRUPO; i++) {
+                int entrada = inicio + i * TAMANO_ENTRADA;
+                if (buffer.get(entrada + DESPLAZAMIENTO_ESTADO) == 0 || coincide(entrada, clave, rivales)) {
+                    escribir(entrada, clave, rivales, equidad);
+                    return;
+                }
+            }
+
+            // Grupo lleno: la manecilla da una segunda oportunidad a las entradas usadas
+            int manecilla = buffer.get(inicio + DESPLAZAMIENTO_MANECILLA);
+            while (true) {
+                int entrada = inicio + manecilla * TAMANO_ENTRADA;
+                byte estado = buffer.get(entrada + DESPLAZAMIENTO_ESTADO);
+                manecilla = (manecilla + 1) % ENTRADAS_POR_GRUPO;
+                if ((estado & USADA) != 0) {
+                    buffer.put(entrada + DESPLAZAMIENTO_ESTADO, (byte) (estado & ~USADA));
+                } else {
+                    escribir(entrada, clave, rivales, equidad);
+                    desalojos.increment();
+                    break;
+                }
+            }
+            buffer.put(inicio + DESPLAZAMIENTO_MANECILLA, (byte) manecilla);
+        }
+    }
+
+    private boolean coincide(int entrada, long clave, int rivales) {
+        return buffer.getLong(entrada) == clave && buffer.get(entrada + DESPLAZAMIENTO_RIVALES) == rivales;
+    }
+
+    //Escribe los datos antes que el estado, que es lo que hace visible la entrada
+    private void escribir(int entrada, long clave, int rivales, float equidad) {
+        buffer.putLong(entrada, clave);
+        buffer.putFloat(entrada + DESPLAZAMIENTO_EQUIDAD, equidad);
+        buffer.put(entrada + DESPLAZAMIENTO_RIVALES, (byte) rivales);
+        buffer.put(entrada + DESPLAZAMIENTO_ESTADO, (byte) (OCUPADA | USADA));
+    }
+
+    //Grupo de la clave: mezcla de bits (la de SplittableRandom) para repartir claves parecidas
+    private int grupo(long clave, int rivales) {
+        long z = clave + 0x9E3779B97F4A7C15L * (rivales + 1);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return (int) z & (grupos - 1);
+    }
+
+    //Número máximo de entradas
+    public long getCapacidad() {
+        return (long) grupos * ENTRADAS_POR_GRUPO;
+    }
+
+    //Entradas ocupadas; recorre todo el archivo
+    public long contarEntradas() {
+        long ocupadas = 0;
+        for (long i = 0; i < getCapacidad(); i++) {
+            if (buffer.get((int) (TAMANO_ENCABEZADO + i * TAMANO_ENTRADA + DESPLAZAMIENTO_ESTADO)) != 0) {
+                ocupadas++;
+            }
+        }
+        return ocupadas;
+    }
+
+    //Consultas encontradas, no encontradas y entradas desalojadas desde que se abrió
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public long getDesalojos() {
+        return desalojos.sum();
+    }
+
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    //Manda a disco lo que falte; el mapeo se libera cuando se recolecta el buffer
+    @Override
+    public void close() {
+        buffer.force();
+    }
+}
@@ -0,0 +1,357 @@
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Calculadora de equidad para Texas Hold'em.
+ * Recibe las cartas privadas de cada jugador (null o vacía si no se conocen) y
+ * las comunitarias que ya salieron, y estima por Monte Carlo qué porcentaje de
+ * las veces gana, empata o pierde cada uno.
+ * Las simulaciones se reparten en tareas fork-join. Cada hoja recibe su propio
+ * generador, separado (split) del de la calculadora, y su propia copia del mazo
+ * restante, así que los hilos no comparten nada mutable. Las manos se evalúan
+ * con EvaluadorSieteCartas sobre máscaras por palo, sin crear objetos.
+ * Con todas las manos conocidas, calcularExacto recorre además todas las mesas
+ * posibles repartiendo el recorrido por la primera carta entre los núcleos.
+ */
+public class CalculadoraEquidad {
+    public static final int MAXIMO_JUGADORES = 10;
+
+    // Simulaciones que hace una hoja sin dividirse más
+    private static final int SIMULACIONES_POR_HOJA = 4096;
+
+    // Mesas que recorre una hoja de la enumeración exacta sin dividirse más
+    private static final long MESAS_POR_HOJA = 2048;
+
+    private final SplittableRandom raiz;
+    private final ForkJoinPool pool;
+
+    public CalculadoraEquidad() {
+        this(Mazo.nuevoGenerador().nextLong());
+    }
+
+    //Con la misma semilla se obtienen exactamente los mismos resultados
+    public CalculadoraEquidad(long semilla) {
+        this.raiz = new SplittableRandom(semilla);
+        this.pool = ForkJoinPool.commonPool();
+    }
+
+    public ResultadoEquidad calcular(List<List<Carta>> manos, List<Carta> comunitarias, int simulaciones) {
+        return calcular(manos, comunitarias, List.of(), simulaciones);
+    }
+
+    //Las cartas muertas (por ejemplo las de jugadores retirados) no pueden salir en la mesa
+    public ResultadoEquidad calcular(List<List<Carta>> manos, List<Carta> comunitarias,
+                                     List<Carta> muertas, int simulaciones) {
+        if (simulaciones <= 0) {
+            throw new IllegalArgumentException("El número de simulaciones debe ser mayor que cero.");
+        }
+        Escenario escenario = new Escenario(manos, comunitarias, muertas);
+
+        SplittableRandom generador;
+        synchronized (raiz) {
+            generador = raiz.split();
+        }
+        Conteo conteo = pool.invoke(new TareaMonteCarlo(escenario, simulaciones, generador));
+        return conteo.aResultado(simulaciones, false);
+    }
+
+    public ResultadoEquidad calcularExacto(List<List<Carta>> manos, List<Carta> comunitarias) {
+        return calcularExacto(manos, comunitarias, List.of());
+    }
+
+    //Recorre todas las formas de completar la mesa; todas las manos deben conocerse
+    public ResultadoEquidad calcularExacto(List<List<Carta>> manos, List<Carta> comunitarias, List<Carta> muertas) {
+        Escenario escenario = new Escenario(manos, comunitarias, muertas);
+        if (escenario.cartasPorReparto != escenario.cartasMesaFaltantes) {
+            throw new IllegalArgumentException("El cálculo exacto necesita las cartas de todos los jugadores.");
+        }
+
+        Conteo conteo;
+        if (escenario.cartasMesaFaltantes == 0) {
+            // En el river solo hay una mesa posible
+            conteo = new Conteo(escenario.numeroJugadores);
+            int[] mano = new int[4];
+            int[] claves = new int[escenario.numeroJugadores];
+            evaluarJugadores(escenario, escenario.mascarasMesa, null, 0, mano, claves);
+            conteo.registrar(claves);
+        } else {
+            conteo = pool.invoke(new TareaExacta(escenario, 0, escenario.restantes.length));
+        }
+        return conteo.aResultado(conteo.repartos, true);
+    }
+
+    //Divide las simulaciones a la mitad hasta llegar al tamaño de hoja
+    private static class TareaMonteCarlo extends RecursiveTask<Conteo> {
+        private final Escenario escenario;
+        private final int simulaciones;
+        private final SplittableRandom generador;
+
+        TareaMonteCarlo(Escenario escenario, int simulaciones, SplittableRandom generador) {
+            this.escenario = escenario;
+            this.simulaciones = simulaciones;
+            this.generador = generador;
+        }
+
+        @Override
+        protected Conteo compute() {
+            if (simulaciones <= SIMULACIONES_POR_HOJA) {
+                return simular();
+            }
+            int mitad = simulaciones / 2;
+            TareaMonteCarlo izquierda = new TareaMonteCarlo(escenario, mitad, generador.split());
+            izquierda.fork();
+            Conteo conteo = new TareaMonteCarlo(escenario, simulaciones - mitad, generador).compute();
+            conteo.sumar(izquierda.join());
+            return conteo;
+        }
+
+        private Conteo simular() {
+            Escenario e = escenario;
+            Conteo conteo = new Conteo(e.numeroJugadores);
+            int[] mazo = e.restantes.clone();
+            int[] mesa = new int[4];
+            int[] mano = new int[4];
+            int[] claves = new int[e.numeroJugadores];
+
+            for (int s = 0; s < simulaciones; s++) {
+                // Fisher-Yates parcial: solo se barajan las cartas que se van a usar
+                for (int i = 0; i < e.cartasPorReparto; i++) {
+                    int j = i + generador.nextInt(mazo.length - i);
+                    int carta = mazo[i];
+                    mazo[i] = mazo[j];
+                    mazo[j] = carta;
+                }
+
+                System.arraycopy(e.mascarasMesa, 0, mesa, 0, 4);
+                int siguiente = 0;
+                while (siguiente < e.cartasMesaFaltantes) {
+                    agregar(mesa, mazo[siguiente++]);
+                }
+
+                evaluarJugadores(e, mesa, mazo, siguiente, mano, claves);
+                conteo.registrar(claves);
+            }
+            return conteo;
+        }
+    }
+
+    /**
+     * Enumeración exacta de las mesas cuya primera carta nueva está en [desde, hasta)
+     * del mazo restante. Las primeras cartas tienen más mesas detrás, así que el
+     * rango se parte hasta que cada hoja tenga pocas mesas y el robo de trabajo
+     * del pool equilibra el resto.
+     */
+    private static class TareaExacta extends RecursiveTask<Conteo> {
+        private final Escenario escenario;
+        private final int desde;
+        private final int hasta;
+
+        TareaExacta(Escenario escenario, int desde, int hasta) {
+            this.escenario = escenario;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected Conteo compute() {
+            int restantes = escenario.restantes.length;
+            int faltan = escenario.cartasMesaFaltantes;
+            long mesas = (hasta - desde) * Combinaciones.contar(restantes - 1 - desde, faltan - 1);
+            if (hasta - desde <= 1 || mesas <= MESAS_POR_HOJA) {
+                return enumerar();
+            }
+            int mitad = (desde + hasta) >>> 1;
+            TareaExacta izquierda = new TareaExacta(escenario, desde, mitad);
+            izquierda.fork();
+            Conteo conteo = new TareaExacta(escenario, mitad, hasta).compute();
+            conteo.sumar(izquierda.join());
+            return conteo;
+        }
+
+        private Conteo enumerar() {
+            Escenario e = escenario;
+            int faltan = e.cartasMesaFaltantes;
+            int n = e.restantes.length;
+            Conteo conteo = new Conteo(e.numeroJugadores);
+            if (desde > n - faltan) {
+                return conteo;
+            }
+            // Máscaras de la mesa en cada nivel de profundidad
+            int[][] niveles = new int[faltan + 1][4];
+            System.arraycopy(e.mascarasMesa, 0, niveles[0], 0, 4);
+            int[] mano = new int[4];
+            int[] claves = new int[e.numeroJugadores];
+
+            // Combinaciones con la primera carta en [desde, hasta); solo se rehacen los
+            // niveles desde la primera posición que cambió
+            int[] indices = new int[faltan];
+            Combinaciones.iniciar(indices, desde);
+            int cambio = 0;
+            do {
+                for (int nivel = cambio; nivel < faltan; nivel++) {
+                    int[] mesa = niveles[nivel + 1];
+                    System.arraycopy(niveles[nivel], 0, mesa, 0, 4);
+                    agregar(mesa, e.restantes[indices[nivel]]);
+                }
+                evaluarJugadores(e, niveles[faltan], null, 0, mano, claves);
+                conteo.registrar(claves);
+                cambio = Combinaciones.siguiente(indices, n);
+            } while (cambio >= 0 && indices[0] < hasta);
+            return conteo;
+        }
+    }
+
+    //Evalúa a cada jugador con la mesa dada; los desconocidos toman sus cartas del mazo
+    private static void evaluarJugadores(Escenario e, int[] mesa, int[] mazo, int siguiente,
+                                         int[] mano, int[] claves) {
+        for (int jugador = 0; jugador < e.numeroJugadores; jugador++) {
+            for (int palo = 0; palo < 4; palo++) {
+                mano[palo] = mesa[palo] | e.mascarasJugador[4 * jugador + palo];
+            }
+            if (e.desconocido[jugador]) {
+                agregar(mano, mazo[siguiente++]);
+                agregar(mano, mazo[siguiente++]);
+            }
+            claves[jugador] = EvaluadorSieteCartas.evaluarMascaras(mano[0], mano[1], mano[2], mano[3]);
+        }
+    }
+
+    //Suma una carta (por id) a las máscaras por palo
+    private static void agregar(int[] mascaras, int id) {
+        mascaras[id / 13] |= 1 << (id % 13);
+    }
+
+    /**
+     * Datos de entrada ya validados y convertidos a máscaras por palo.
+     * Es inmutable después de construirse y lo comparten todas las tareas.
+     */
+    private static final class Escenario {
+        final int numeroJugadores;
+        // Cartas conocidas de cada jugador, 4 máscaras por jugador
+        final int[] mascarasJugador;
+        final boolean[] desconocido;
+        final int[] mascarasMesa;
+        final int cartasMesaFaltantes;
+        // Ids de las cartas que todavía pueden salir
+        final int[] restantes;
+        // Cartas que consume cada reparto: las que faltan en la mesa y las de los jugadores desconocidos
+        final int cartasPorReparto;
+
+        Escenario(List<List<Carta>> manos, List<Carta> comunitarias, List<Carta> muertas) {
+            numeroJugadores = manos.size();
+            if (numeroJugadores < 1 || numeroJugadores > MAXIMO_JUGADORES) {
+                throw new IllegalArgumentException("Se necesitan entre 1 y " + MAXIMO_JUGADORES + " jugadores.");
+            }
+            if (comunitarias.size() > 5) {
+                throw new IllegalArgumentException("No puede haber más de 5 cartas comunitarias.");
+            }
+
+            ConjuntoCartas usadas = ConjuntoCartas.VACIO;
+            mascarasJugador = new int[4 * numeroJugadores];
+            desconocido = new boolean[numeroJugadores];
+            int desconocidos = 0;
+            for (int i = 0; i < numeroJugadores; i++) {
+                List<Carta> cartas = manos.get(i);
+                if (cartas == null || cartas.isEmpty()) {
+                    desconocido[i] = true;
+                    desconocidos++;
+                    continue;
+                }
+                if (cartas.size() != 2) {
+                    throw new IllegalArgumentException("Cada jugador debe tener 2 cartas o ninguna.");
+                }
+                ConjuntoCartas mano = ConjuntoCartas.VACIO;
+                for (Carta carta : cartas) {
+                    usadas = marcar(usadas, carta);
+                    mano = mano.agregar(carta);
+                }
+                for (int palo = 0; palo < 4; palo++) {
+                    mascarasJugador[4 * i + palo] = mano.mascaraPalo(palo);
+                }
+            }
+
+            ConjuntoCartas mesa = ConjuntoCartas.VACIO;
+            for (Carta carta : comunitarias) {
+                usadas = marcar(usadas, carta);
+                mesa = mesa.agregar(carta);
+            }
+            mascarasMesa = new int[4];
+            for (int palo = 0; palo < 4; palo++) {
+                mascarasMesa[palo] = mesa.mascaraPalo(palo);
+            }
+            for (Carta carta : muertas) {
+                usadas = marcar(usadas, carta);
+            }
+            restantes = usadas.complemento().ids();
+
+            cartasMesaFaltantes = 5 - comunitarias.size();
+            cartasPorReparto = cartasMesaFaltantes + 2 * desconocidos;
+            if (cartasPorReparto > restantes.length) {
+                throw new IllegalArgumentException("No quedan suficientes cartas para completar el reparto.");
+            }
+        }
+
+        private static ConjuntoCartas marcar(ConjuntoCartas usadas, Carta carta) {
+            if (usadas.contiene(carta)) {
+                throw new IllegalArgumentException("La carta " + carta + " aparece más de una vez.");
+            }
+            return usadas.agregar(carta);
+        }
+    }
+
+    /**
+     * Contadores de una tarea; cada hoja tiene los suyos y se suman al unir.
+     */
+    private static final class Conteo {
+        final long[] ganadas;
+        final long[] empates;
+        final double[] equidad;
+        long repartos;
+
+        Conteo(int jugadores) {
+            ganadas = new long[jugadores];
+            empates = new long[jugadores];
+            equidad = new double[jugadores];
+        }
+
+        //Anota quién gana un reparto a partir de las claves de cada jugador
+        void registrar(int[] claves) {
+            repartos++;
+            int mejor = -1;
+            int empatados = 0;
+            for (int clave : claves) {
+                if (clave > mejor) {
+                    mejor = clave;
+                    empatados = 1;
+                } else if (clave == mejor) {
+                    empatados++;
+                }
+            }
+            for (int i = 0; i < claves.length; i++) {
+                if (claves[i] == mejor) {
+                    if (empatados == 1) {
+                        ganadas[i]++;
+                    } else {
+                        empates[i]++;
+                    }
+                    equidad[i] += 1.0 / empatados;
+                }
+            }
+        }
+
+        void sumar(Conteo otro) {
+            repartos += otro.repartos;
+            for (int i = 0; i < ganadas.length; i++) {
+                ganadas[i] += otro.ganadas[i];
+                empates[i] += otro.empates[i];
+                equidad[i] += otro.equidad[i];
+            }
+        }
+
+        ResultadoEquidad aResultado(long repartos, boolean exacto) {
+            return new ResultadoEquidad(repartos, ganadas, empates, equidad, exacto);
+        }
+    }
+}
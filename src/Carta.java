@@ -1,98 +1,104 @@
-import javax.swing.*;
-import java.awt.*;
-import java.io.File;
-import java.net.URL;
-
+import javax.swing.ImageIcon;
+
+/**
+ * Carta de la baraja inglesa.
+ * Solo existen 52 instancias inmutables, una por carta, que comparten Mazo,
+ * Mano y los paneles. Cada carta tiene un identificador de 0 a 51
+ * (palo * 13 + valor - 2) para poder compararla como entero.
+ * Las imágenes no se cargan aquí sino en ImagenesCartas, al primer uso.
+ */
 public class Carta {
-    private int valor;
-    private String color;
-    private String figura;
-    private ImageIcon imagenOriginal;
-    private ImageIcon imagenEscalada;
-    private static final String RUTA_IMAGENES = "G:\\4toSemestre\\POO\\Poker-Proyecto-Final\\src\\recursos\\";
+    // Palos, en el mismo orden en que Mazo llena la baraja
+    public static final int CORAZONES = 0;
+    public static final int DIAMANTES = 1;
+    public static final int TREBOLES = 2;
+    public static final int ESPADAS = 3;
 
-    public Carta(int valor, String color, String figura){
-        this.valor = valor == 1 ? 14 : valor;
-        this.color = color;
-        this.figura = figura;
-        cargarImagen();
-    }
+    public static final int TOTAL_CARTAS = 52;
 
-    public ImageIcon getImagen(int ancho, int alto) {
+    private static final String[] FIGURAS = {"corazones", "diamantes", "tréboles", "espadas"};
+    private static final String[] COLORES = {"rojo", "rojo", "negro", "negro"};
 
-        if (imagenOriginal == null || imagenOriginal.getIconWidth() <= 0) {
-            System.err.println("Error: la imagen original no se cargó correctamente para " + this);
-            return new ImageIcon(); // Devuelve un icono vacío
-        }
-        if (imagenEscalada == null ||
-                imagenEscalada.getIconWidth() != ancho ||
-                imagenEscalada.getIconHeight() != alto) {
+    // Tabla con las 52 cartas canónicas
+    private static final Carta[] BARAJA = new Carta[TOTAL_CARTAS];
+
+    private final int id;
+    private final int valor;
+    private final int palo;
+    private final String color;
+    private final String figura;
 
-            Image img = imagenOriginal.getImage();
-            Image imgEscalada = img.getScaledInstance(ancho, alto, Image.SCALE_SMOOTH);
-            imagenEscalada = new ImageIcon(imgEscalada);
+    static {
+        for (int id = 0; id < TOTAL_CARTAS; id++) {
+            BARAJA[id] = new Carta(id);
         }
-        return imagenEscalada;
     }
 
-    private void cargarImagen() {
-        try {
-            // Construye el nombre del archivo basado en los atributos de la carta
-            String nombreArchivo = obtenerNombreArchivoImagen();
-            System.out.println("Intentando cargar: " + RUTA_IMAGENES + nombreArchivo);
+    private Carta(int id){
+        this.id = id;
+        this.valor = id % 13 + 2;
+        this.palo = id / 13;
+        this.color = COLORES[palo];
+        this.figura = FIGURAS[palo];
+    }
 
-            // Verifica si el archivo existe físicamente
-            File archivoImagen = new File(RUTA_IMAGENES + nombreArchivo);
-            if (!archivoImagen.exists()) {
-                System.err.println("ADVERTENCIA: El archivo no existe: " + archivoImagen.getAbsolutePath());
-            }
+    //Devuelve la carta canónica con el identificador dado (0 a 51)
+    public static Carta obtener(int id) {
+        return BARAJA[id];
+    }
 
-            imagenOriginal = new ImageIcon(RUTA_IMAGENES + nombreArchivo);
+    //Devuelve la carta canónica de un valor (el As puede ser 1 o 14) y palo
+    public static Carta obtener(int valor, int palo) {
+        if (valor == 1) {
+            valor = 14;
+        }
+        return BARAJA[palo * 13 + valor - 2];
+    }
 
-            // Verifica si la imagen se cargó correctamente
-            if (imagenOriginal.getIconWidth() <= 0) {
-                System.err.println("La imagen se cargó pero tiene un tamaño inválido: " + nombreArchivo);
-            } else {
-                System.out.println("Imagen cargada exitosamente: " + nombreArchivo);
-            }
-        } catch (Exception e) {
-            System.err.println("Error al cargar imagen para carta: " + this + ". Error: " + e.getMessage());
-            // Imagen por defecto si no se encuentra la específica
-            try {
-                System.out.println("Intentando cargar imagen de respaldo: " + RUTA_IMAGENES + "back.png");
-                imagenOriginal = new ImageIcon(RUTA_IMAGENES + "back.png");
-            } catch (Exception ex) {
-                System.err.println("No se pudo cargar ni siquiera la imagen de respaldo");
-                imagenOriginal = new ImageIcon(); // Icono vacío como último recurso
+    //Convierte el nombre de una figura a su índice de palo
+    public static int paloDeFigura(String figura) {
+        for (int palo = 0; palo < FIGURAS.length; palo++) {
+            if (FIGURAS[palo].equals(figura)) {
+                return palo;
             }
         }
+        return -1;
     }
 
-        private String obtenerNombreArchivoImagen() {
-            // Ejemplo: "2_de_diamantes.png", "as_de_corazones.png", etc.
-            String nombreValor;
+    //Imagen de la carta escalada, tomada del caché compartido de imágenes
+    public ImageIcon getImagen(int ancho, int alto) {
+        return ImagenesCartas.obtenerEscalada(this, ancho, alto);
+    }
 
-            switch(valor) {
-                case 14: nombreValor = "as"; break;
-                case 11: nombreValor = "sota"; break;
-                case 12: nombreValor = "reina"; break;
-                case 13: nombreValor = "rey"; break;
-                default: nombreValor = String.valueOf(valor);
-            }
+    //Nombre del archivo de imagen de la carta
+    //Ejemplo: "2_de_diamantes.png", "as_de_corazones.png", etc.
+    String obtenerNombreArchivoImagen() {
+        String nombreValor;
+
+        switch(valor) {
+            case 14: nombreValor = "as"; break;
+            case 11: nombreValor = "sota"; break;
+            case 12: nombreValor = "reina"; break;
+            case 13: nombreValor = "rey"; break;
+            default: nombreValor = String.valueOf(valor);
+        }
 
-            // Asegúrate de que figura sea exactamente lo que necesitas (diamantes, corazones, etc.)
-            // y que esté en minúsculas para coincidir con los nombres de archivo
-            String figuraFormateada = figura.toLowerCase();
+        return nombreValor + "_de_" + figura + ".png";
+    }
 
-            String nombreArchivo = nombreValor + "_de_" + figuraFormateada + ".png";
-            System.out.println("Nombre de archivo generado: " + nombreArchivo);
-            return nombreArchivo;
-        }
         //getters
+    public int getId(){
+        return id;
+    }
+
     public int getValor(){
         return valor;
     }
 
+    public int getPalo(){
+        return palo;
+    }
+
     public String getColor(){
         return color;
     }
@@ -103,9 +109,7 @@ public class Carta {
 
 
     public boolean esIgualA(Carta otraCarta) {
-        return tieneElMismoValor(otraCarta)
-                && tieneLaMismaFigura(otraCarta)
-                && tieneMismoColor(otraCarta);
+        return id == otraCarta.id;
     }
 
 
@@ -118,11 +122,11 @@ public class Carta {
 
 
     public boolean tieneLaMismaFigura(Carta otraCarta) {
-        return figura.equals(otraCarta.figura);
+        return palo == otraCarta.palo;
     }
 
     public boolean tieneMismoColor(Carta otraCarta) {
-        return color.equals(otraCarta.color);
+        return palo / 2 == otraCarta.palo / 2;
     }
 
 
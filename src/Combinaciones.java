@@ -0,0 +1,93 @@
+/**
+ * Recorridos de las formas de elegir k elementos de n sin crear objetos por
+ * combinación. Sirven para elegir 5 de 7 cartas, 2 de 4 privadas, las cartas
+ * que faltan en la mesa o las posiciones a descartar.
+ *
+ * Hay dos formas de recorrerlas:
+ *   - Como máscaras de bits, con el truco de Gosper: cada llamada a siguiente
+ *     da la próxima máscara con el mismo número de bits encendidos, de menor a
+ *     mayor. Conviene cuando n es chico (una mano, un descarte).
+ *   - Como arreglo de índices crecientes que se avanza en su lugar. siguiente
+ *     devuelve la primera posición que cambió, así que quien recorre puede
+ *     guardar lo calculado para las posiciones anteriores (por ejemplo las
+ *     máscaras de la mesa) y rehacer solo desde ahí.
+ */
+public final class Combinaciones {
+
+    private Combinaciones() {
+    }
+
+    //Número de formas de elegir k de n
+    public static long contar(int n, int k) {
+        if (k < 0 || k > n) {
+            return 0;
+        }
+        long resultado = 1;
+        for (int i = 1; i <= k; i++) {
+            resultado = resultado * (n - k + i) / i;
+        }
+        return resultado;
+    }
+
+    //Primera máscara de k bits: los k bits más bajos
+    public static int primera(int k) {
+        return (1 << k) - 1;
+    }
+
+    //Siguiente máscara con los mismos bits encendidos (truco de Gosper); la máscara no
+    //puede ser 0. El recorrido de k de n termina cuando el resultado llega a 1 << n (n <= 30)
+    public static int siguiente(int mascara) {
+        int bajo = mascara & -mascara;
+        int arrastre = mascara + bajo;
+        return arrastre | ((mascara ^ arrastre) >>> 2) / bajo;
+    }
+
+    //Lo mismo con long, para recorrer hasta 62 elementos
+    public static long siguiente(long mascara) {
+        long bajo = mascara & -mascara;
+        long arrastre = mascara + bajo;
+        return arrastre | ((mascara ^ arrastre) >>> 2) / bajo;
+    }
+
+    //Todas las máscaras de k de n, de menor a mayor; para guardarlas en una tabla
+    public static int[] todas(int n, int k) {
+        if (n > 30) {
+            throw new IllegalArgumentException("Solo hay máscaras int para hasta 30 elementos: " + n);
+        }
+        int[] mascaras = new int[(int) contar(n, k)];
+        // Con k = 0 la única máscara es 0
+        if (k == 0) {
+            return mascaras;
+        }
+        int i = 0;
+        for (int mascara = primera(k); mascara < 1 << n; mascara = siguiente(mascara)) {
+            mascaras[i++] = mascara;
+        }
+        return mascaras;
+    }
+
+    //Primera combinación de índices a partir de desde: desde, desde + 1, ...
+    public static void iniciar(int[] indices, int desde) {
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = desde + i;
+        }
+    }
+
+    //Avanza los índices (crecientes, entre 0 y n - 1) a la siguiente combinación en orden
+    //lexicográfico; devuelve la primera posición que cambió, o -1 si ya era la última
+    public static int siguiente(int[] indices, int n) {
+        int k = indices.length;
+        int posicion = k - 1;
+        while (posicion >= 0 && indices[posicion] == n - k + posicion) {
+            posicion--;
+        }
+        if (posicion < 0) {
+            return -1;
+        }
+        indices[posicion]++;
+        for (int i = posicion + 1; i < k; i++) {
+            indices[i] = indices[i - 1] + 1;
+        }
+        return posicion;
+    }
+}
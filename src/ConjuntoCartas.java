@@ -0,0 +1,179 @@
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Conjunto inmutable de cartas guardado en un solo long.
+ * Cada palo ocupa 16 bits y dentro de ellos el bit (valor - 2) marca la carta,
+ * así que la máscara de un palo es un desplazamiento y queda en el mismo
+ * formato de 13 bits que usan EvaluadorManos y EvaluadorSieteCartas. Agregar,
+ * quitar, buscar, unir, intersectar y contar son operaciones de bits, sin
+ * recorrer listas de Carta.
+ */
+public final class ConjuntoCartas {
+    private static final int BITS_POR_PALO = 16;
+    private static final long MASCARA_PALO = 0x1FFFL;
+    // Los 13 bits válidos de cada uno de los 4 palos
+    private static final long MASCARA_VALIDA = MASCARA_PALO | MASCARA_PALO << 16 | MASCARA_PALO << 32 | MASCARA_PALO << 48;
+
+    public static final ConjuntoCartas VACIO = new ConjuntoCartas(0L);
+    public static final ConjuntoCartas COMPLETO = new ConjuntoCartas(MASCARA_VALIDA);
+
+    private final long mascara;
+
+    private ConjuntoCartas(long mascara) {
+        this.mascara = mascara;
+    }
+
+    public static ConjuntoCartas de(Carta... cartas) {
+        long mascara = 0;
+        for (Carta carta : cartas) {
+            mascara |= bit(carta);
+        }
+        return deMascara(mascara);
+    }
+
+    public static ConjuntoCartas de(Collection<Carta> cartas) {
+        long mascara = 0;
+        for (Carta carta : cartas) {
+            mascara |= bit(carta);
+        }
+        return deMascara(mascara);
+    }
+
+    //Conjunto a partir de una máscara con el formato de getMascara
+    public static ConjuntoCartas deMascara(long mascara) {
+        if ((mascara & ~MASCARA_VALIDA) != 0) {
+            throw new IllegalArgumentException("La máscara tiene bits fuera de las 52 cartas: " + Long.toHexString(mascara));
+        }
+        return mascara == 0 ? VACIO : new ConjuntoCartas(mascara);
+    }
+
+    //Bit de la carta dentro de la máscara
+    public static long bit(Carta carta) {
+        return 1L << (carta.getPalo() * BITS_POR_PALO + carta.getValor() - 2);
+    }
+
+    public long getMascara() {
+        return mascara;
+    }
+
+    public boolean contiene(Carta carta) {
+        return (mascara & bit(carta)) != 0;
+    }
+
+    public boolean contieneTodas(ConjuntoCartas otro) {
+        return (otro.mascara & ~mascara) == 0;
+    }
+
+    public boolean tieneEnComun(ConjuntoCartas otro) {
+        return (mascara & otro.mascara) != 0;
+    }
+
+    public ConjuntoCartas agregar(Carta carta) {
+        return new ConjuntoCartas(mascara | bit(carta));
+    }
+
+    public ConjuntoCartas quitar(Carta carta) {
+        return new ConjuntoCartas(mascara & ~bit(carta));
+    }
+
+    public ConjuntoCartas union(ConjuntoCartas otro) {
+        return new ConjuntoCartas(mascara | otro.mascara);
+    }
+
+    public ConjuntoCartas interseccion(ConjuntoCartas otro) {
+        return new ConjuntoCartas(mascara & otro.mascara);
+    }
+
+    public ConjuntoCartas diferencia(ConjuntoCartas otro) {
+        return new ConjuntoCartas(mascara & ~otro.mascara);
+    }
+
+    //Las cartas de la baraja que no están en el conjunto
+    public ConjuntoCartas complemento() {
+        return new ConjuntoCartas(~mascara & MASCARA_VALIDA);
+    }
+
+    public int tamano() {
+        return Long.bitCount(mascara);
+    }
+
+    public boolean estaVacio() {
+        return mascara == 0;
+    }
+
+    //Máscara de 13 bits con los valores que hay de un palo (bit valor - 2)
+    public int mascaraPalo(int palo) {
+        return (int) (mascara >>> (palo * BITS_POR_PALO) & MASCARA_PALO);
+    }
+
+    //Máscara de 13 bits con los valores que aparecen en cualquier palo
+    public int mascaraValores() {
+        return mascaraPalo(0) | mascaraPalo(1) | mascaraPalo(2) | mascaraPalo(3);
+    }
+
+    //Máscara de 4 bits con los palos en que aparece un valor (bit del palo)
+    public int palosDeValor(int valor) {
+        long columna = mascara >>> (valor - 2);
+        return (int) (columna & 1 | columna >>> 15 & 2 | columna >>> 30 & 4 | columna >>> 45 & 8);
+    }
+
+    public int cuantasDePalo(int palo) {
+        return Integer.bitCount(mascaraPalo(palo));
+    }
+
+    public int cuantasDeValor(int valor) {
+        return Integer.bitCount(palosDeValor(valor));
+    }
+
+    //Palo con 5 o más cartas, o -1 si no hay color
+    public int paloConColor() {
+        for (int palo = 0; palo < 4; palo++) {
+            if (cuantasDePalo(palo) >= 5) {
+                return palo;
+            }
+        }
+        return -1;
+    }
+
+    //Clave de la mejor mano de 5 (con 5 a 7 cartas), como la de EvaluadorManos
+    public int evaluar() {
+        return EvaluadorSieteCartas.evaluarMascaras(mascaraPalo(0), mascaraPalo(1), mascaraPalo(2), mascaraPalo(3));
+    }
+
+    //Cartas del conjunto, por palo y de menor a mayor valor
+    public ArrayList<Carta> cartas() {
+        ArrayList<Carta> cartas = new ArrayList<>(tamano());
+        for (long resto = mascara; resto != 0; resto &= resto - 1) {
+            int posicion = Long.numberOfTrailingZeros(resto);
+            cartas.add(Carta.obtener(posicion % BITS_POR_PALO + 2, posicion / BITS_POR_PALO));
+        }
+        return cartas;
+    }
+
+    //Ids de las cartas del conjunto (los de Carta.getId), en el mismo orden que cartas()
+    public int[] ids() {
+        int[] ids = new int[tamano()];
+        int i = 0;
+        for (long resto = mascara; resto != 0; resto &= resto - 1) {
+            int posicion = Long.numberOfTrailingZeros(resto);
+            ids[i++] = posicion / BITS_POR_PALO * 13 + posicion % BITS_POR_PALO;
+        }
+        return ids;
+    }
+
+    @Override
+    public boolean equals(Object otro) {
+        return otro instanceof ConjuntoCartas && ((ConjuntoCartas) otro).mascara == mascara;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(mascara);
+    }
+
+    @Override
+    public String toString() {
+        return cartas().toString();
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * Estrategia de decisión de un jugador automático.
+ * SimuladorPoker la consulta en cada turno y ejecuta la acción elegida con la
+ * misma API que usan los paneles (pasar, apostar, igualar, subir, retirarse).
+ */
+public interface EstrategiaBot {
+
+    // Acciones posibles en un turno de apuestas
+    enum Accion {
+        PASAR,
+        APOSTAR,
+        IGUALAR,
+        SUBIR,
+        RETIRARSE
+    }
+
+    //Decide la acción del jugador que tiene el turno
+    Accion decidir(JuegoPoker juego, int indiceJugador);
+
+    //Cantidad a apostar, o incremento al subir; por defecto la mínima permitida
+    default int cantidad(JuegoPoker juego, int indiceJugador) {
+        int minimo = juego instanceof TexasHoldem ? ((TexasHoldem) juego).getBigBlindValue() : 10;
+        return Math.max(minimo, juego.getApuestaActual());
+    }
+
+    //Posiciones (empezando en 1) a descartar en Cinco Cartas; vacío para no descartar
+    default int[] descartar(PokerCincoCartas juego, int indiceJugador) {
+        return new int[0];
+    }
+}
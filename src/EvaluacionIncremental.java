@@ -0,0 +1,56 @@
+import java.util.List;
+
+/**
+ * Estado de evaluación de la mano de un jugador que avanza calle por calle.
+ * Guarda la máscara de valores de cada palo, así que agregar una carta cuesta
+ * una operación de bits y la fuerza de la mano en cualquier etapa se obtiene
+ * de EvaluadorSieteCartas sin volver a recorrer las cartas anteriores.
+ */
+public class EvaluacionIncremental {
+    private final int[] mascaraPalo;
+    private int numeroCartas;
+    private int valor;
+    private boolean valorVigente;
+
+    public EvaluacionIncremental() {
+        this.mascaraPalo = new int[4];
+        reiniciar();
+    }
+
+    //Vacía el estado para una nueva mano
+    public void reiniciar() {
+        for (int palo = 0; palo < 4; palo++) {
+            mascaraPalo[palo] = 0;
+        }
+        numeroCartas = 0;
+        valor = -1;
+        valorVigente = true;
+    }
+
+    //Agrega una carta (privada o comunitaria) al estado
+    public void agregarCarta(Carta carta) {
+        mascaraPalo[carta.getPalo()] |= 1 << (carta.getValor() - 2);
+        numeroCartas++;
+        valorVigente = false;
+    }
+
+    public void agregarCartas(List<Carta> cartas) {
+        for (int i = 0; i < cartas.size(); i++) {
+            agregarCarta(cartas.get(i));
+        }
+    }
+
+    //Clave de la mejor mano con las cartas vistas hasta ahora, o -1 si no hay cartas
+    public int getValor() {
+        if (!valorVigente) {
+            valor = EvaluadorSieteCartas.evaluarMascaras(
+                    mascaraPalo[0], mascaraPalo[1], mascaraPalo[2], mascaraPalo[3]);
+            valorVigente = true;
+        }
+        return valor;
+    }
+
+    public int getNumeroCartas() {
+        return numeroCartas;
+    }
+}
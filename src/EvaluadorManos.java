@@ -0,0 +1,203 @@
+import java.util.List;
+
+/**
+ * Evaluador de manos de una sola pasada.
+ * Recorre las cartas una vez, arma los conteos de valores y palos y devuelve
+ * una clave entera comparable: la categoría va en los bits altos y las cartas
+ * de desempate, de mayor a menor importancia, en los bits bajos.
+ * Sirve igual para manos de 5 cartas (Cinco Cartas) que de 7 (Texas Hold'em),
+ * en cuyo caso la clave corresponde a la mejor mano de 5 posible.
+ */
+public class EvaluadorManos {
+    // Categorías de mano, de menor a mayor
+    public static final int CARTA_ALTA = 0;
+    public static final int PAR = 1;
+    public static final int DOS_PARES = 2;
+    public static final int TERCIA = 3;
+    public static final int ESCALERA = 4;
+    public static final int COLOR = 5;
+    public static final int FULL_HOUSE = 6;
+    public static final int POKER = 7;
+    public static final int ESCALERA_COLOR = 8;
+    public static final int ESCALERA_REAL = 9;
+
+    // La clave guarda 5 valores de 4 bits cada uno debajo de la categoría
+    static final int BITS_CATEGORIA = 20;
+
+    // Máscara de bits de la escalera A-2-3-4-5 (el As vale 14)
+    private static final int MASCARA_ESCALERA_BAJA = 0x100F;
+
+    private EvaluadorManos() {
+    }
+
+    //Evalúa una mano y devuelve su clave comparable
+    public static int evaluar(Mano mano) {
+        return evaluar(mano.getMano());
+    }
+
+    //Evalúa una lista de cartas (de 1 a 7) y devuelve su clave comparable
+    public static int evaluar(List<Carta> cartas) {
+        int[] conteoValores = new int[15];
+        int[] mascaraPalo = new int[4];
+        int mascaraValores = 0;
+
+        // Única pasada sobre las cartas
+        for (int i = 0; i < cartas.size(); i++) {
+            Carta carta = cartas.get(i);
+            int valor = carta.getValor();
+            conteoValores[valor]++;
+            mascaraPalo[carta.getPalo()] |= 1 << (valor - 2);
+            mascaraValores |= 1 << (valor - 2);
+        }
+
+        // Color: algún palo con al menos 5 cartas
+        int mascaraColor = 0;
+        for (int palo = 0; palo < 4; palo++) {
+            if (Integer.bitCount(mascaraPalo[palo]) >= 5) {
+                mascaraColor = mascaraPalo[palo];
+            }
+        }
+
+        if (mascaraColor != 0) {
+            int alta = cartaAltaEscalera(mascaraColor);
+            if (alta == 14) {
+                return clave(ESCALERA_REAL, alta << 16);
+            } else if (alta > 0) {
+                return clave(ESCALERA_COLOR, alta << 16);
+            }
+        }
+
+        // Agrupar los valores por repeticiones, de mayor a menor
+        int cuatro = 0;
+        int tercia1 = 0;
+        int tercia2 = 0;
+        int par1 = 0;
+        int par2 = 0;
+        int par3 = 0;
+        for (int valor = 14; valor >= 2; valor--) {
+            switch (conteoValores[valor]) {
+                case 4:
+                    cuatro = valor;
+                    break;
+                case 3:
+                    if (tercia1 == 0) {
+                        tercia1 = valor;
+                    } else {
+                        tercia2 = valor;
+                    }
+                    break;
+                case 2:
+                    if (par1 == 0) {
+                        par1 = valor;
+                    } else if (par2 == 0) {
+                        par2 = valor;
+                    } else {
+                        par3 = valor;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        if (cuatro > 0) {
+            int resto = mascaraValores & ~bit(cuatro);
+            return clave(POKER, cuatro << 16 | cartasAltas(resto, 1, 12));
+        }
+
+        if (tercia1 > 0 && (tercia2 > 0 || par1 > 0)) {
+            return clave(FULL_HOUSE, tercia1 << 16 | Math.max(tercia2, par1) << 12);
+        }
+
+        if (mascaraColor != 0) {
+            return clave(COLOR, cartasAltas(mascaraColor, 5, 16));
+        }
+
+        int alta = cartaAltaEscalera(mascaraValores);
+        if (alta > 0) {
+            return clave(ESCALERA, alta << 16);
+        }
+
+        if (tercia1 > 0) {
+            int resto = mascaraValores & ~bit(tercia1);
+            return clave(TERCIA, tercia1 << 16 | cartasAltas(resto, 2, 12));
+        }
+
+        if (par2 > 0) {
+            int resto = mascaraValores & ~bit(par1) & ~bit(par2);
+            return clave(DOS_PARES, par1 << 16 | par2 << 12 | cartasAltas(resto, 1, 8));
+        }
+
+        if (par1 > 0) {
+            int resto = mascaraValores & ~bit(par1);
+            return clave(PAR, par1 << 16 | cartasAltas(resto, 3, 12));
+        }
+
+        return clave(CARTA_ALTA, cartasAltas(mascaraValores, 5, 16));
+    }
+
+    //Devuelve la categoría guardada en una clave
+    public static int categoria(int clave) {
+        return clave >>> BITS_CATEGORIA;
+    }
+
+    //Convierte una clave a la escala clásica de evaluarMano (15..23 o carta alta)
+    public static int valorClasico(int clave) {
+        int categoria = categoria(clave);
+        if (categoria == CARTA_ALTA) {
+            return (clave >>> 16) & 0xF;
+        }
+        return 14 + categoria;
+    }
+
+    //Devuelve el nombre de la categoría de una clave
+    public static String nombreCategoria(int clave) {
+        switch (categoria(clave)) {
+            case ESCALERA_REAL: return "Escalera Real";
+            case ESCALERA_COLOR: return "Escalera de Color";
+            case POKER: return "Poker (Four of a Kind)";
+            case FULL_HOUSE: return "Full House";
+            case COLOR: return "Color (Flush)";
+            case ESCALERA: return "Escalera (Straight)";
+            case TERCIA: return "Tercia (Three of a Kind)";
+            case DOS_PARES: return "Dos Pares (Two Pair)";
+            case PAR: return "Un Par (One Pair)";
+            default: return "Carta Alta";
+        }
+    }
+
+    //Carta más alta de la escalera contenida en la máscara, o 0 si no hay
+    static int cartaAltaEscalera(int mascara) {
+        for (int alta = 14; alta >= 6; alta--) {
+            int escalera = 0x1F << (alta - 6);
+            if ((mascara & escalera) == escalera) {
+                return alta;
+            }
+        }
+        if ((mascara & MASCARA_ESCALERA_BAJA) == MASCARA_ESCALERA_BAJA) {
+            return 5;
+        }
+        return 0;
+    }
+
+    //Empaca los n valores más altos de la máscara a partir del desplazamiento dado
+    static int cartasAltas(int mascara, int n, int desplazamiento) {
+        int resultado = 0;
+        for (int valor = 14; valor >= 2 && n > 0; valor--) {
+            if ((mascara & bit(valor)) != 0) {
+                resultado |= valor << desplazamiento;
+                desplazamiento -= 4;
+                n--;
+            }
+        }
+        return resultado;
+    }
+
+    private static int bit(int valor) {
+        return 1 << (valor - 2);
+    }
+
+    private static int clave(int categoria, int desempate) {
+        return categoria << BITS_CATEGORIA | desempate;
+    }
+}
@@ -0,0 +1,186 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evaluador de 5 a 7 cartas basado en tablas precalculadas.
+ * Las tablas se indexan con la máscara de 13 bits de valores de un palo (o de
+ * toda la mano) y se construyen una sola vez al cargar la clase, así que la
+ * mejor mano de 7 cartas se obtiene con unas cuantas operaciones de bits, sin
+ * recorrer las 21 combinaciones de 5 cartas ni crear objetos.
+ * Devuelve las mismas claves que EvaluadorManos.
+ */
+public class EvaluadorSieteCartas {
+    private static final int COMBINACIONES_VALORES = 1 << 13;
+
+    // Carta más alta de la escalera contenida en cada máscara (0 si no hay)
+    private static final byte[] ESCALERA = new byte[COMBINACIONES_VALORES];
+
+    // Los 5 valores más altos de cada máscara, empacados como en la clave
+    private static final int[] ALTAS = new int[COMBINACIONES_VALORES];
+
+    static {
+        for (int mascara = 0; mascara < COMBINACIONES_VALORES; mascara++) {
+            ESCALERA[mascara] = (byte) EvaluadorManos.cartaAltaEscalera(mascara);
+            ALTAS[mascara] = EvaluadorManos.cartasAltas(mascara, 5, 16);
+        }
+    }
+
+    private EvaluadorSieteCartas() {
+    }
+
+    //Evalúa una lista de cartas y devuelve la clave de su mejor mano de 5
+    public static int evaluar(List<Carta> cartas) {
+        int[] mascaraPalo = new int[4];
+        for (int i = 0; i < cartas.size(); i++) {
+            Carta carta = cartas.get(i);
+            mascaraPalo[carta.getPalo()] |= 1 << (carta.getValor() - 2);
+        }
+        return evaluarMascaras(mascaraPalo[0], mascaraPalo[1], mascaraPalo[2], mascaraPalo[3]);
+    }
+
+    //Evalúa una mano descrita por la máscara de valores de cada palo
+    public static int evaluarMascaras(int a, int b, int c, int d) {
+        int todas = a | b | c | d;
+        int dosOMas = (a & b) | (c & d) | ((a | b) & (c | d));
+        int tresOMas = (a & b & (c | d)) | (c & d & (a | b));
+        int cuatro = a & b & c & d;
+
+        int mascaraColor = 0;
+        if (Integer.bitCount(a) >= 5) {
+            mascaraColor = a;
+        } else if (Integer.bitCount(b) >= 5) {
+            mascaraColor = b;
+        } else if (Integer.bitCount(c) >= 5) {
+            mascaraColor = c;
+        } else if (Integer.bitCount(d) >= 5) {
+            mascaraColor = d;
+        }
+
+        if (mascaraColor != 0) {
+            int alta = ESCALERA[mascaraColor];
+            if (alta == 14) {
+                return clave(EvaluadorManos.ESCALERA_REAL, alta << 16);
+            } else if (alta > 0) {
+                return clave(EvaluadorManos.ESCALERA_COLOR, alta << 16);
+            }
+        }
+
+        if (cuatro != 0) {
+            int bitPoker = Integer.highestOneBit(cuatro);
+            return clave(EvaluadorManos.POKER,
+                    valor(bitPoker) << 16 | altas(todas & ~bitPoker, 1, 12));
+        }
+
+        if (tresOMas != 0) {
+            int bitTercia = Integer.highestOneBit(tresOMas);
+            int pares = dosOMas & ~bitTercia;
+            if (pares != 0) {
+                return clave(EvaluadorManos.FULL_HOUSE,
+                        valor(bitTercia) << 16 | valor(Integer.highestOneBit(pares)) << 12);
+            }
+        }
+
+        if (mascaraColor != 0) {
+            return clave(EvaluadorManos.COLOR, ALTAS[mascaraColor]);
+        }
+
+        int alta = ESCALERA[todas];
+        if (alta > 0) {
+            return clave(EvaluadorManos.ESCALERA, alta << 16);
+        }
+
+        if (tresOMas != 0) {
+            int bitTercia = Integer.highestOneBit(tresOMas);
+            return clave(EvaluadorManos.TERCIA,
+                    valor(bitTercia) << 16 | altas(todas & ~bitTercia, 2, 12));
+        }
+
+        if (dosOMas != 0) {
+            int bitPar1 = Integer.highestOneBit(dosOMas);
+            int restoPares = dosOMas & ~bitPar1;
+            if (restoPares != 0) {
+                int bitPar2 = Integer.highestOneBit(restoPares);
+                return clave(EvaluadorManos.DOS_PARES, valor(bitPar1) << 16 | valor(bitPar2) << 12
+                        | altas(todas & ~bitPar1 & ~bitPar2, 1, 8));
+            }
+            return clave(EvaluadorManos.PAR,
+                    valor(bitPar1) << 16 | altas(todas & ~bitPar1, 3, 12));
+        }
+
+        return clave(EvaluadorManos.CARTA_ALTA, ALTAS[todas]);
+    }
+
+    //Elige de entre las cartas las 5 que forman la mano descrita por la clave
+    public static ArrayList<Carta> mejoresCinco(List<Carta> cartas, int clave) {
+        ArrayList<Carta> elegidas = new ArrayList<>(5);
+        int categoria = EvaluadorManos.categoria(clave);
+
+        // En las manos de color todas las cartas salen del mismo palo
+        int paloColor = -1;
+        if (categoria == EvaluadorManos.COLOR || categoria == EvaluadorManos.ESCALERA_COLOR
+                || categoria == EvaluadorManos.ESCALERA_REAL) {
+            int[] conteoPalos = new int[4];
+            for (Carta carta : cartas) {
+                int palo = carta.getPalo();
+                if (++conteoPalos[palo] >= 5) {
+                    paloColor = palo;
+                }
+            }
+        }
+
+        if (categoria == EvaluadorManos.ESCALERA || categoria == EvaluadorManos.ESCALERA_COLOR
+                || categoria == EvaluadorManos.ESCALERA_REAL) {
+            int alta = (clave >>> 16) & 0xF;
+            for (int valor = alta; valor > alta - 5; valor--) {
+                // En la escalera baja el 1 es el As
+                tomar(cartas, elegidas, valor == 1 ? 14 : valor, 1, paloColor);
+            }
+            return elegidas;
+        }
+
+        // Cuántas cartas aporta cada valor de la clave, según la categoría
+        int[] repeticiones;
+        switch (categoria) {
+            case EvaluadorManos.POKER: repeticiones = new int[]{4, 1}; break;
+            case EvaluadorManos.FULL_HOUSE: repeticiones = new int[]{3, 2}; break;
+            case EvaluadorManos.TERCIA: repeticiones = new int[]{3, 1, 1}; break;
+            case EvaluadorManos.DOS_PARES: repeticiones = new int[]{2, 2, 1}; break;
+            case EvaluadorManos.PAR: repeticiones = new int[]{2, 1, 1, 1}; break;
+            default: repeticiones = new int[]{1, 1, 1, 1, 1}; break;
+        }
+
+        for (int i = 0; i < repeticiones.length; i++) {
+            int valor = (clave >>> (16 - 4 * i)) & 0xF;
+            tomar(cartas, elegidas, valor, repeticiones[i], paloColor);
+        }
+        return elegidas;
+    }
+
+    //Agrega a elegidas hasta n cartas del valor (y palo, si se indica) pedido
+    private static void tomar(List<Carta> cartas, ArrayList<Carta> elegidas, int valor, int n, int palo) {
+        for (Carta carta : cartas) {
+            if (n == 0) {
+                return;
+            }
+            if (carta.getValor() == valor && !elegidas.contains(carta)
+                    && (palo < 0 || carta.getPalo() == palo)) {
+                elegidas.add(carta);
+                n--;
+            }
+        }
+    }
+
+    //Los n valores más altos de la máscara, colocados a partir del desplazamiento
+    private static int altas(int mascara, int n, int desplazamiento) {
+        int bitsBajos = desplazamiento - 4 * (n - 1);
+        return (ALTAS[mascara] >>> (16 - desplazamiento)) & (-1 << bitsBajos);
+    }
+
+    private static int valor(int bit) {
+        return Integer.numberOfTrailingZeros(bit) + 2;
+    }
+
+    private static int clave(int categoria, int desempate) {
+        return categoria << EvaluadorManos.BITS_CATEGORIA | desempate;
+    }
+}
@@ -0,0 +1,123 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Genera el archivo de TablaPreflop.
+ * Cada entrada (clase de mano y número de jugadores) se estima con
+ * CalculadoraEquidad contra rivales desconocidos. Las entradas se calculan en
+ * paralelo y cada una se escribe en el archivo mapeado en cuanto termina,
+ * marcándola como completa; si el proceso se interrumpe, al volver a correrlo
+ * con los mismos parámetros solo calcula las que faltan. La semilla de cada
+ * entrada depende solo de su posición, así que reanudar da la misma tabla que
+ * una corrida sin interrupciones.
+ *
+ * Uso: java GeneradorTablaPreflop [archivo] [simulaciones por entrada] [semilla]
+ */
+public class GeneradorTablaPreflop {
+    private final Path archivo;
+    private final int simulaciones;
+    private final long semilla;
+
+    public GeneradorTablaPreflop(Path archivo, int simulaciones, long semilla) {
+        this.archivo = archivo;
+        this.simulaciones = simulaciones;
+        this.semilla = semilla;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path archivo = Path.of(args.length > 0 ? args[0] : TablaPreflop.ARCHIVO_PREDETERMINADO);
+        int simulaciones = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        long semilla = args.length > 2 ? Long.parseLong(args[2]) : 20240601L;
+
+        long inicio = System.nanoTime();
+        new GeneradorTablaPreflop(archivo, simulaciones, semilla).generar();
+        System.out.printf("Tabla lista en %s (%.1f s)%n", archivo, (System.nanoTime() - inicio) / 1e9);
+    }
+
+    //Calcula las entradas pendientes del archivo, creándolo si no existe
+    public void generar() throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            boolean nuevo = canal.size() == 0;
+            if (!nuevo && canal.size() != TablaPreflop.TAMANO_ARCHIVO) {
+                throw new IOException("El archivo " + archivo + " no tiene el tamaño de una tabla preflop.");
+            }
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, TablaPreflop.TAMANO_ARCHIVO);
+
+            if (nuevo) {
+                escribirEncabezado(buffer);
+            } else {
+                validarParametros(buffer);
+            }
+
+            List<Integer> pendientes = new ArrayList<>();
+            for (int entrada = 0; entrada < TablaPreflop.ENTRADAS; entrada++) {
+                if (buffer.get(TablaPreflop.POSICION_COMPLETAS + entrada) == 0) {
+                    pendientes.add(entrada);
+                }
+            }
+            System.out.println("Entradas pendientes: " + pendientes.size() + " de " + TablaPreflop.ENTRADAS);
+
+            AtomicInteger terminadas = new AtomicInteger();
+            pendientes.parallelStream().forEach(entrada -> {
+                float equidad = calcularEntrada(entrada);
+                guardar(buffer, entrada, equidad);
+
+                int hechas = terminadas.incrementAndGet();
+                if (hechas % 50 == 0 || hechas == pendientes.size()) {
+                    System.out.println("  " + hechas + "/" + pendientes.size() + " entradas");
+                }
+            });
+            buffer.force();
+        }
+    }
+
+    private void escribirEncabezado(MappedByteBuffer buffer) {
+        buffer.putInt(0, TablaPreflop.MAGIA);
+        buffer.putInt(4, TablaPreflop.VERSION);
+        buffer.putInt(TablaPreflop.POSICION_SIMULACIONES, simulaciones);
+        buffer.putLong(TablaPreflop.POSICION_SEMILLA, semilla);
+        buffer.force();
+    }
+
+    //Reanudar solo tiene sentido con los mismos parámetros con que se empezó
+    private void validarParametros(MappedByteBuffer buffer) throws IOException {
+        TablaPreflop.validarEncabezado(buffer, archivo);
+        if (buffer.getInt(TablaPreflop.POSICION_SIMULACIONES) != simulaciones
+                || buffer.getLong(TablaPreflop.POSICION_SEMILLA) != semilla) {
+            throw new IOException("El archivo " + archivo + " se empezó con otras simulaciones o semilla ("
+                    + buffer.getInt(TablaPreflop.POSICION_SIMULACIONES) + ", "
+                    + buffer.getLong(TablaPreflop.POSICION_SEMILLA) + ").");
+        }
+    }
+
+    //Equidad de una clase contra rivales desconocidos
+    private float calcularEntrada(int entrada) {
+        int clase = entrada % TablaPreflop.CLASES;
+        int jugadores = entrada / TablaPreflop.CLASES + TablaPreflop.MINIMO_JUGADORES;
+
+        List<List<Carta>> manos = new ArrayList<>();
+        manos.add(Arrays.asList(TablaPreflop.representante(clase)));
+        for (int i = 1; i < jugadores; i++) {
+            manos.add(null);
+        }
+
+        CalculadoraEquidad calculadora = new CalculadoraEquidad(semilla + 0x9E3779B97F4A7C15L * (entrada + 1));
+        return (float) calculadora.calcular(manos, List.of(), simulaciones).getEquidad(0);
+    }
+
+    //Escribe la equidad y después la marca, para que una entrada marcada siempre sea válida
+    private static synchronized void guardar(MappedByteBuffer buffer, int entrada, float equidad) {
+        buffer.putFloat(TablaPreflop.POSICION_EQUIDADES + 4 * entrada, equidad);
+        buffer.force();
+        buffer.put(TablaPreflop.POSICION_COMPLETAS + entrada, (byte) 1);
+        buffer.force();
+    }
+}
@@ -0,0 +1,148 @@
+import javax.swing.ImageIcon;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.lang.ref.SoftReference;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Registro de imágenes de cartas compartido por todo el proceso.
+ * Cada una de las 53 imágenes (las 52 caras y el reverso) se carga una sola
+ * vez desde el classpath, la primera vez que se pide o durante la precarga en
+ * segundo plano. Las cartas no guardan imágenes: las piden aquí, así que el
+ * motor del juego nunca lee archivos ni toca AWT por sí mismo.
+ * Las copias escaladas se guardan aparte por (carta, ancho, alto) en un caché
+ * acotado de referencias suaves, que el recolector puede liberar si falta memoria.
+ */
+public class ImagenesCartas {
+    private static final String CARPETA = "/recursos/";
+    private static final String ARCHIVO_REVERSO = "reverso.png";
+
+    // Índice del reverso dentro del registro, después de las 52 caras
+    public static final int REVERSO = Carta.TOTAL_CARTAS;
+
+    // Máximo de copias escaladas guardadas (53 imágenes en varios tamaños)
+    private static final int MAXIMO_ESCALADAS = 256;
+
+    private static final ImageIcon[] ORIGINALES = new ImageIcon[Carta.TOTAL_CARTAS + 1];
+
+    // Copias escaladas por (índice, ancho, alto), la menos usada sale primero
+    private static final Map<Long, SoftReference<ImageIcon>> ESCALADAS =
+            new LinkedHashMap<Long, SoftReference<ImageIcon>>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, SoftReference<ImageIcon>> mayor) {
+                    return size() > MAXIMO_ESCALADAS;
+                }
+            };
+
+    private ImagenesCartas() {
+    }
+
+    //Imagen original (sin escalar) de una carta
+    public static ImageIcon obtenerOriginal(Carta carta) {
+        return obtenerOriginal(carta.getId());
+    }
+
+    //Imagen original del reverso de las cartas
+    public static ImageIcon obtenerReverso() {
+        return obtenerOriginal(REVERSO);
+    }
+
+    //Imagen de una carta escalada al tamaño pedido
+    public static ImageIcon obtenerEscalada(Carta carta, int ancho, int alto) {
+        return obtenerEscalada(carta.getId(), ancho, alto);
+    }
+
+    //Reverso de las cartas escalado al tamaño pedido
+    public static ImageIcon obtenerReversoEscalado(int ancho, int alto) {
+        return obtenerEscalada(REVERSO, ancho, alto);
+    }
+
+    //Devuelve la copia escalada guardada o la genera si no existe o fue liberada
+    static synchronized ImageIcon obtenerEscalada(int indice, int ancho, int alto) {
+        long llave = (long) indice << 32 | (long) ancho << 16 | alto;
+        SoftReference<ImageIcon> referencia = ESCALADAS.get(llave);
+        ImageIcon escalada = referencia == null ? null : referencia.get();
+
+        if (escalada == null) {
+            ImageIcon original = obtenerOriginal(indice);
+            if (original.getIconWidth() <= 0 || ancho <= 0 || alto <= 0) {
+                return new ImageIcon(); // Devuelve un icono vacío
+            }
+            escalada = new ImageIcon(escalar(original.getImage(), ancho, alto));
+            ESCALADAS.put(llave, new SoftReference<>(escalada));
+        }
+        return escalada;
+    }
+
+    //Escala reduciendo a la mitad en pasos bilineales hasta llegar al tamaño final,
+    //mucho más rápido que getScaledInstance con SCALE_SMOOTH y con calidad parecida
+    private static BufferedImage escalar(Image original, int ancho, int alto) {
+        int anchoActual = original.getWidth(null);
+        int altoActual = original.getHeight(null);
+        Image actual = original;
+
+        do {
+            if (anchoActual > ancho) {
+                anchoActual = Math.max(anchoActual / 2, ancho);
+            } else {
+                anchoActual = ancho;
+            }
+            if (altoActual > alto) {
+                altoActual = Math.max(altoActual / 2, alto);
+            } else {
+                altoActual = alto;
+            }
+
+            BufferedImage paso = new BufferedImage(anchoActual, altoActual, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = paso.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(actual, 0, 0, anchoActual, altoActual, null);
+            g.dispose();
+            actual = paso;
+        } while (anchoActual != ancho || altoActual != alto);
+
+        return (BufferedImage) actual;
+    }
+
+    //Devuelve la imagen del índice dado, cargándola si es la primera vez
+    static synchronized ImageIcon obtenerOriginal(int indice) {
+        if (ORIGINALES[indice] == null) {
+            ORIGINALES[indice] = cargar(indice);
+        }
+        return ORIGINALES[indice];
+    }
+
+    //Carga las 53 imágenes en un hilo de fondo para que la interfaz no espere
+    public static void precargar() {
+        Thread hilo = new Thread(() -> {
+            for (int indice = 0; indice <= REVERSO; indice++) {
+                obtenerOriginal(indice);
+            }
+        }, "precarga-imagenes-cartas");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    private static ImageIcon cargar(int indice) {
+        String nombreArchivo = indice == REVERSO
+                ? ARCHIVO_REVERSO
+                : Carta.obtener(indice).obtenerNombreArchivoImagen();
+        URL url = ImagenesCartas.class.getResource(CARPETA + nombreArchivo);
+
+        if (url == null) {
+            System.err.println("No se encontró la imagen: " + CARPETA + nombreArchivo);
+            // Si falta una cara se usa el reverso; si falta el reverso, un icono vacío
+            return indice == REVERSO ? new ImageIcon() : obtenerOriginal(REVERSO);
+        }
+
+        ImageIcon imagen = new ImageIcon(url);
+        if (imagen.getIconWidth() <= 0) {
+            System.err.println("La imagen se cargó pero tiene un tamaño inválido: " + nombreArchivo);
+        }
+        return imagen;
+    }
+}
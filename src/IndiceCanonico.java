@@ -0,0 +1,154 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Índice canónico de situaciones de Texas Hold'em (2 cartas privadas y de 0 a
+ * 5 comunitarias) que no distingue situaciones iguales salvo por el nombre de
+ * los palos. Cada palo se describe por los valores que aporta a la mano y a la
+ * mesa; los palos se reordenan de mayor a menor descripción, dando prioridad a
+ * la mano, y así dos situaciones equivalentes quedan escritas igual.
+ *
+ * La clave canónica cabe en un long: los bits 0 a 51 son la mesa (13 bits por
+ * palo canónico, bit valor - 2) y los bits 52 a 63 los ids de las dos cartas
+ * privadas, la menor primero. Antes del flop y en el flop además hay un índice
+ * denso (0 a 168 y 0 a 1,286,791) con su inverso; el del preflop es el mismo de
+ * TablaPreflop. En turn y river el número de clases (13.9 y 123 millones) haría
+ * que la tabla ocupara cientos de MB, así que ahí solo se usa la clave.
+ */
+public final class IndiceCanonico {
+    public static final int CLASES_PREFLOP = TablaPreflop.CLASES;
+    public static final int CLASES_FLOP = 1_286_792;
+
+    private static final int BITS_MESA = 52;
+    private static final long MASCARA_MESA = (1L << BITS_MESA) - 1;
+
+    private IndiceCanonico() {
+    }
+
+    //Clave canónica de una mano de 2 cartas con la mesa dada
+    public static long clave(List<Carta> privadas, List<Carta> comunitarias) {
+        return clave(ConjuntoCartas.de(privadas), ConjuntoCartas.de(comunitarias));
+    }
+
+    public static long clave(ConjuntoCartas privadas, ConjuntoCartas mesa) {
+        if (privadas.tamano() != 2 || mesa.tamano() > 5 || privadas.tieneEnComun(mesa)) {
+            throw new IllegalArgumentException("Se necesitan 2 cartas privadas y hasta 5 comunitarias distintas: "
+                    + privadas + " " + mesa);
+        }
+        return claveMascaras(privadas.getMascara(), mesa.getMascara());
+    }
+
+    //Clave a partir de las máscaras de ConjuntoCartas, sin validar
+    static long claveMascaras(long privadas, long mesa) {
+        // Descripción de cada palo (valores en la mano, luego en la mesa) con el palo en los 2 bits bajos
+        int d0 = descripcion(privadas, mesa, 0);
+        int d1 = descripcion(privadas, mesa, 1);
+        int d2 = descripcion(privadas, mesa, 2);
+        int d3 = descripcion(privadas, mesa, 3);
+
+        // Red de ordenamiento de 4 elementos, de mayor a menor
+        int t;
+        if (d0 < d1) { t = d0; d0 = d1; d1 = t; }
+        if (d2 < d3) { t = d2; d2 = d3; d3 = t; }
+        if (d0 < d2) { t = d0; d0 = d2; d2 = t; }
+        if (d1 < d3) { t = d1; d1 = d3; d3 = t; }
+        if (d1 < d2) { t = d1; d1 = d2; d2 = t; }
+
+        long mesaCanonica = valoresMesa(d0) | (long) valoresMesa(d1) << 13
+                | (long) valoresMesa(d2) << 26 | (long) valoresMesa(d3) << 39;
+
+        // Las privadas quedan en el palo canónico 0 y, si son de palos distintos, en el 1;
+        // con 13 bits por palo la posición de cada bit es el id de la carta
+        long privadasCanonicas = d0 >>> 15 | (long) (d1 >>> 15) << 13;
+        long menor = Long.numberOfTrailingZeros(privadasCanonicas);
+        long mayor = 63 - Long.numberOfLeadingZeros(privadasCanonicas);
+        return mayor << 58 | menor << BITS_MESA | mesaCanonica;
+    }
+
+    private static int descripcion(long privadas, long mesa, int palo) {
+        int mano = (int) (privadas >>> (16 * palo) & 0x1FFF);
+        int enMesa = (int) (mesa >>> (16 * palo) & 0x1FFF);
+        return mano << 15 | enMesa << 2 | palo;
+    }
+
+    private static int valoresMesa(int descripcion) {
+        return descripcion >>> 2 & 0x1FFF;
+    }
+
+    //Cartas privadas de una clave canónica
+    public static ConjuntoCartas privadasDeClave(long clave) {
+        return ConjuntoCartas.de(Carta.obtener((int) (clave >>> BITS_MESA & 0x3F)), Carta.obtener((int) (clave >>> 58)));
+    }
+
+    //Mesa de una clave canónica
+    public static ConjuntoCartas mesaDeClave(long clave) {
+        long mesa = clave & MASCARA_MESA;
+        long mascara = 0;
+        for (int palo = 0; palo < 4; palo++) {
+            mascara |= (mesa >>> (13 * palo) & 0x1FFF) << (16 * palo);
+        }
+        return ConjuntoCartas.deMascara(mascara);
+    }
+
+    //Índice denso de la situación: antes del flop de 0 a 168 y en el flop de 0 a CLASES_FLOP - 1
+    public static int indice(List<Carta> privadas, List<Carta> comunitarias) {
+        if (comunitarias.isEmpty() && privadas.size() == 2) {
+            return TablaPreflop.indiceClase(privadas.get(0), privadas.get(1));
+        }
+        if (comunitarias.size() != 3) {
+            throw new IllegalArgumentException("El índice denso solo existe antes del flop y en el flop.");
+        }
+        return Arrays.binarySearch(TablaFlop.CLAVES, clave(privadas, comunitarias));
+    }
+
+    //Una situación representante del índice denso, para 0 o 3 cartas comunitarias
+    public static long claveDeIndice(int indice, int cartasComunitarias) {
+        if (cartasComunitarias == 0) {
+            Carta[] representante = TablaPreflop.representante(indice);
+            return clave(ConjuntoCartas.de(representante), ConjuntoCartas.VACIO);
+        }
+        if (cartasComunitarias != 3) {
+            throw new IllegalArgumentException("El índice denso solo existe antes del flop y en el flop.");
+        }
+        return TablaFlop.CLAVES[indice];
+    }
+
+    /**
+     * Claves canónicas de todas las situaciones del flop, ordenadas; el índice
+     * denso es la posición en el arreglo. Se construye la primera vez que se
+     * usa: basta recorrer los flops de un representante por clase de mano
+     * inicial, porque las privadas canónicas son siempre una de esas 169.
+     */
+    private static final class TablaFlop {
+        static final long[] CLAVES = construir();
+
+        private static long[] construir() {
+            long[] claves = new long[CLASES_PREFLOP * 19600];
+            int n = 0;
+            for (int clase = 0; clase < CLASES_PREFLOP; clase++) {
+                long privadas = ConjuntoCartas.de(TablaPreflop.representante(clase)).getMascara();
+                int[] libres = ConjuntoCartas.deMascara(privadas).complemento().ids();
+                for (int a = 0; a < libres.length; a++) {
+                    long mesaA = ConjuntoCartas.bit(Carta.obtener(libres[a]));
+                    for (int b = a + 1; b < libres.length; b++) {
+                        long mesaB = mesaA | ConjuntoCartas.bit(Carta.obtener(libres[b]));
+                        for (int c = b + 1; c < libres.length; c++) {
+                            claves[n++] = claveMascaras(privadas, mesaB | ConjuntoCartas.bit(Carta.obtener(libres[c])));
+                        }
+                    }
+                }
+            }
+            Arrays.sort(claves, 0, n);
+            int unicas = 0;
+            for (int i = 0; i < n; i++) {
+                if (unicas == 0 || claves[i] != claves[unicas - 1]) {
+                    claves[unicas++] = claves[i];
+                }
+            }
+            if (unicas != CLASES_FLOP) {
+                throw new IllegalStateException("Se esperaban " + CLASES_FLOP + " clases de flop y hay " + unicas);
+            }
+            return Arrays.copyOf(claves, unicas);
+        }
+    }
+}
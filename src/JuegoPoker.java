@@ -1,6 +1,6 @@
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 // Clase abstracta para que cualquier tipo de póker la herede
 public abstract class JuegoPoker {
@@ -10,12 +10,21 @@ public abstract class JuegoPoker {
     protected ArrayList<Jugador> jugadores;
     protected Mazo mazo;
     protected int turnoActual;
+    // Generador raíz de la mesa; cada mano toma de él un split propio
+    private RandomGenerator.SplittableGenerator generadorMesa;
+    // Generador de la mano actual, compartido por el mazo y el azar de la mano
+    protected RandomGenerator generador;
+    // Generador propio del cálculo de equidad; pedir equidades no cambia los repartos
+    protected RandomGenerator generadorEquidad;
 
     protected int pozo;
     protected int apuestaActual;
     protected boolean rondaTerminada;
     protected String mensajeEstado;
-    protected Map<Jugador, Integer> apuestasAcumuladas;
+    // Lo que cada asiento ha apostado en la calle y en la mano
+    protected LibroApuestas libroApuestas;
+    // Resultado del último showdown; null si la mano terminó sin mostrar cartas
+    protected ResultadoShowdown resultadoShowdown;
 
     // Enumeración para los posibles estados del juego
     public enum EstadoJuego {
@@ -35,13 +44,16 @@ public abstract class JuegoPoker {
         this.numeroDeJugadores = numeroDeJugadores;
         this.dineroInicial = dineroInicial;
         this.jugadores = new ArrayList<>();
-        this.mazo = new Mazo();
+        this.generadorMesa = Mazo.nuevoGenerador();
+        this.generadorEquidad = generadorMesa.split();
+        this.generador = generadorMesa.split();
+        this.mazo = new Mazo(generador);
         this.pozo = 0;
         this.apuestaActual = 0;
         this.rondaTerminada = false;
         this.estadoActual = EstadoJuego.ESPERANDO_INICIO;
         this.mensajeEstado = "Juego inicializado.";
-        this.apuestasAcumuladas = new HashMap<>();
+        this.libroApuestas = new LibroApuestas(numeroDeJugadores);
 
         // Inicializar jugadores con sus nombres y dinero inicial
         for (int i = 0; i < numeroDeJugadores; i++) {
@@ -54,8 +66,24 @@ public abstract class JuegoPoker {
     protected abstract void repartirCartas();
 
 
-    //Evalúa las manos de los jugadores y determina el ganador
-    public abstract int determinarGanador();
+    //Evalúa las manos de los jugadores y devuelve el índice del ganador
+    //(con empate, el de asiento menor), o -1 si nadie llega al showdown
+    public int determinarGanador() {
+        resultadoShowdown = calcularShowdown();
+        int[] ganadores = resultadoShowdown.getGanadores();
+        return ganadores.length == 0 ? -1 : ganadores[0];
+    }
+
+    //Evalúa una sola vez la mano de cada jugador que llega al showdown y las ordena
+    protected ResultadoShowdown calcularShowdown() {
+        int[] claves = new int[jugadores.size()];
+        for (int i = 0; i < jugadores.size(); i++) {
+            Jugador jugador = jugadores.get(i);
+            boolean llega = (jugador.estaActivo() || jugador.isAllIn()) && jugador.getMano() != null;
+            claves[i] = llega ? evaluarClaveJugador(i) : -1;
+        }
+        return new ResultadoShowdown(claves);
+    }
 
 
     //Muestra las cartas de un jugador según cada variante
@@ -99,13 +127,19 @@ public abstract class JuegoPoker {
 
 
     //Permite al jugador actual igualar la apuesta existente
+    //Solo paga lo que le falta respecto a lo que ya puso en esta calle
     public boolean igualar() {
         if (apuestaActual <= 0) {
             mensajeEstado = "No hay apuesta que igualar.";
             return false;
         }
 
-        return realizarApuesta(apuestaActual, false);
+        int cantidadAIgualar = apuestaActual - libroApuestas.getEnRonda(turnoActual);
+        if (cantidadAIgualar <= 0) {
+            mensajeEstado = "Ya has igualado la apuesta actual.";
+            return false;
+        }
+        return realizarApuesta(cantidadAIgualar, false);
     }
 
     //Permite al jugador actual subir la apuesta existente
@@ -116,7 +150,7 @@ public abstract class JuegoPoker {
             return false;
         }
 
-        return realizarApuesta(apuestaActual + incremento, true);
+        return realizarApuesta(apuestaActual + incremento - libroApuestas.getEnRonda(turnoActual), true);
     }
 
 
@@ -153,6 +187,22 @@ public abstract class JuegoPoker {
         public EstadoJuego estadoActual;
         public String mensajeEstado;
         public ArrayList<Jugador.Info> infoJugadores;
+        // Resultado del showdown, o null si todavía no hay
+        public ResultadoShowdown showdown;
+        // Fichas de cada capa del pozo con fichas, de la principal a la última lateral
+        public int[] capasPozo;
+
+        //El pozo, con sus capas si algún all-in lo dividió
+        public String describirPozo() {
+            if (capasPozo == null || capasPozo.length <= 1) {
+                return "$" + pozo;
+            }
+            StringBuilder texto = new StringBuilder("$" + pozo + " (principal $" + capasPozo[0]);
+            for (int i = 1; i < capasPozo.length; i++) {
+                texto.append(", lateral $").append(capasPozo[i]);
+            }
+            return texto.append(")").toString();
+        }
     }
 
     // Devuelve toda la info necesaria para mostrar el estado del juego
@@ -164,6 +214,19 @@ public abstract class JuegoPoker {
         estado.turnoActualNombre = jugadores.get(turnoActual).getNombre();
         estado.estadoActual = this.estadoActual;
         estado.mensajeEstado = this.mensajeEstado;
+        estado.showdown = this.resultadoShowdown;
+        int capasConFichas = 0;
+        for (int capa = 0; capa < libroApuestas.getNumeroCapas(); capa++) {
+            if (libroApuestas.getFichasCapa(capa) > 0) {
+                capasConFichas++;
+            }
+        }
+        estado.capasPozo = new int[capasConFichas];
+        for (int capa = 0, i = 0; capa < libroApuestas.getNumeroCapas(); capa++) {
+            if (libroApuestas.getFichasCapa(capa) > 0) {
+                estado.capasPozo[i++] = libroApuestas.getFichasCapa(capa);
+            }
+        }
 
         estado.infoJugadores = new ArrayList<>();
         for (int i = 0; i < jugadores.size(); i++) {
@@ -181,6 +244,24 @@ public abstract class JuegoPoker {
         }
     }
 
+    //Fija la semilla de la mesa para poder repetir exactamente los repartos
+    public void setSemilla(long semilla) {
+        setGenerador(new SplittableRandom(semilla));
+    }
+
+    //Cambia el generador raíz de la mesa; se usa desde la próxima mano
+    public void setGenerador(RandomGenerator.SplittableGenerator generador) {
+        this.generadorMesa = generador;
+        this.generadorEquidad = generador.split();
+    }
+
+    //Empieza el azar de una mano: un split nuevo de la raíz para el mazo y las
+    //decisiones al azar de la mano, así que la mano k depende solo de la semilla y de k
+    protected void iniciarGeneradorMano() {
+        generador = generadorMesa.split();
+        mazo.setGenerador(generador);
+    }
+
     // Getters simples para acceder a atributos importantes
     public String getMensajeEstado() {
         return mensajeEstado;
@@ -206,6 +287,10 @@ public abstract class JuegoPoker {
         return jugadores;
     }
 
+    public ResultadoShowdown getResultadoShowdown() {
+        return resultadoShowdown;
+    }
+
 
     // Método privado para procesar cualquier tipo de apuesta
     // incluyendo all-in
@@ -225,19 +310,20 @@ public abstract class JuegoPoker {
         jugadorActual.restarFichas(cantidadFinal);
         pozo += cantidadFinal;
 
-        // Rastrear la apuesta acumulada de este jugador
-        int apuestaAnterior = apuestasAcumuladas.getOrDefault(jugadorActual, 0);
-        apuestasAcumuladas.put(jugadorActual, apuestaAnterior + cantidadFinal);
+        // Rastrear la apuesta de este jugador en la calle y en la mano
+        libroApuestas.aportar(turnoActual, cantidadFinal);
 
-        // Actualizar la apuesta actual si es mayor y es una apuesta inicial
-        if (esApuestaInicial && cantidadFinal > apuestaActual) {
-            apuestaActual = cantidadFinal;
+        // La apuesta actual es lo que el jugador lleva en la calle, si es mayor y es una apuesta inicial
+        int apuestaEnRonda = libroApuestas.getEnRonda(turnoActual);
+        if (esApuestaInicial && apuestaEnRonda > apuestaActual) {
+            apuestaActual = apuestaEnRonda;
         }
 
         // Determinar mensaje según el tipo de apuesta
-        if (cantidadFinal < cantidadRequerida) {
+        // Quien se queda sin fichas está all-in aunque haya cubierto la cantidad exacta
+        if (cantidadFinal < cantidadRequerida || jugadorActual.getFichas() == 0) {
             // Caso all-in
-            jugadorActual.setAllIn(true);
+            ponerAllIn(turnoActual);
             mensajeEstado = jugadorActual.getNombre() + " va ALL-IN con " + cantidadFinal + " fichas!";
         } else if (esApuestaInicial) {
             // Apuesta nueva
@@ -258,12 +344,14 @@ public abstract class JuegoPoker {
             ganador.agregarFichas(pozo);
             pozo = 0;
         }
+        // Si la mano terminó por retiros no hubo showdown; procesarResultadosFinales lo vuelve a poner
+        resultadoShowdown = null;
 
         rondaTerminada = true;
         estadoActual = EstadoJuego.RONDA_FINALIZADA;
 
         // Reiniciar las apuestas para la siguiente ronda
-        apuestasAcumuladas.clear();
+        libroApuestas.reiniciar();
     }
 
     // Avanza el turno al siguiente jugador activo
@@ -298,99 +386,90 @@ public abstract class JuegoPoker {
         return false;
     }
 
-    //Crea los pozos laterales cuando hay jugadores all-in
+    //Marca al jugador all-in y cierra en el libro la capa del pozo que cubre
+    protected void ponerAllIn(int asiento) {
+        jugadores.get(asiento).setAllIn(true);
+        libroApuestas.marcarAllIn(asiento);
+    }
+
+    //Crea los pozos laterales a partir de las capas que el libro mantuvo durante las apuestas.
+    //Solo devuelve pozos con dos o más elegibles: una capa con un solo elegible se le
+    //devuelve aquí mismo y una que nadie puede ganar pasa a la de abajo
     protected ArrayList<PozoLateral> crearPozosLaterales() {
         ArrayList<PozoLateral> pozosLaterales = new ArrayList<>();
 
-        //Obtener jugadores participantes
-        ArrayList<Jugador> jugadoresParticipantes = new ArrayList<>();
-        for (Jugador jugador : jugadores) {
-            if (jugador.estaActivo() || jugador.isAllIn()) {
-                jugadoresParticipantes.add(jugador);
-            }
-        }
-
-        //Ordenar por cantidad apostada (menor a mayor)
-        jugadoresParticipantes.sort((j1, j2) ->
-                apuestasAcumuladas.getOrDefault(j1, 0) -
-                        apuestasAcumuladas.getOrDefault(j2, 0));
-
-        // Crear pozos laterales para cada nivel de apuesta
-        int apuestaAnterior = 0;
-
-        for (Jugador jugador : jugadoresParticipantes) {
-            if (jugador.isAllIn()) {
-                int apuestaJugador = apuestasAcumuladas.getOrDefault(jugador, 0);
-
-                if (apuestaJugador > apuestaAnterior) {
-                    int diferencia = apuestaJugador - apuestaAnterior;
-                    int tamañoPozo = 0;
-                    ArrayList<Jugador> elegibles = new ArrayList<>();
-                    //Calcula la contribución de cada jugador al pozo lateral
-                    for (Jugador j : jugadoresParticipantes) {
-                        int apuestaTotal = apuestasAcumuladas.getOrDefault(j, 0);
-                        if (apuestaTotal >= apuestaJugador) {
-                            tamañoPozo += diferencia;
-                            elegibles.add(j);
-                        } else if (apuestaTotal > apuestaAnterior) {
-                            tamañoPozo += (apuestaTotal - apuestaAnterior);
-                        }
-                    }
-
-                    //Crea el pozo lateral si hay más de un jugador elegible
-                    if (elegibles.size() > 1) {
-                        PozoLateral pozoLateral = new PozoLateral(tamañoPozo);
-                        for (Jugador j : elegibles) {
-                            pozoLateral.agregarJugador(j);
-                        }
-                        pozosLaterales.add(pozoLateral);
-                    } else if (elegibles.size() == 1) {
-                        //Devuelve fichas no igualadas si solo hay un jugador elegible
-                        Jugador unicoElegible = elegibles.get(0);
-                        unicoElegible.agregarFichas(tamañoPozo);
-                        mensajeEstado += " " + unicoElegible.getNombre() +
-                                " recupera " + tamañoPozo + " fichas no igualadas.";
-                    }
-
-                    apuestaAnterior = apuestaJugador;
-                }
+        // De la capa más alta a la más baja: las fichas de una capa que nadie puede ganar
+        // bajan a la siguiente
+        int arrastre = 0;
+        for (int capa = libroApuestas.getNumeroCapas() - 1; capa >= 0; capa--) {
+            int tamañoPozo = libroApuestas.getFichasCapa(capa) + arrastre;
+            arrastre = 0;
+            if (tamañoPozo == 0) {
+                continue;
             }
-        }
 
-        // Calcula el pozo principal descontando los pozos laterales
-        int pozoPrincipal = pozo;
-        for (PozoLateral pl : pozosLaterales) {
-            pozoPrincipal -= pl.getCantidad();
-        }
-        //Crea el pozo principal con los jugadores activos restantes
-        if (pozoPrincipal > 0) {
-            ArrayList<Jugador> elegiblesPrincipal = new ArrayList<>();
-            for (Jugador j : jugadoresParticipantes) {
-                if (j.estaActivo()) {
-                    elegiblesPrincipal.add(j);
+            PozoLateral pozoLateral = new PozoLateral(tamañoPozo);
+            for (int i = 0; i < jugadores.size(); i++) {
+                if (puedeGanarCapa(i, capa)) {
+                    pozoLateral.agregarJugador(jugadores.get(i));
                 }
             }
 
-            if (elegiblesPrincipal.size() > 0) {
-                PozoLateral pozoFinal = new PozoLateral(pozoPrincipal);
-                for (Jugador j : elegiblesPrincipal) {
-                    pozoFinal.agregarJugador(j);
-                }
-                pozosLaterales.add(pozoFinal);
+            ArrayList<Jugador> elegibles = pozoLateral.getJugadoresElegibles();
+            if (elegibles.size() > 1) {
+                pozosLaterales.add(0, pozoLateral);
+            } else if (elegibles.size() == 1) {
+                //Devuelve fichas no igualadas si solo hay un jugador elegible
+                Jugador unicoElegible = elegibles.get(0);
+                unicoElegible.agregarFichas(tamañoPozo);
+                pozo -= tamañoPozo;
+                mensajeEstado += " " + unicoElegible.getNombre() +
+                        " recupera " + tamañoPozo + " fichas no igualadas.";
+            } else {
+                arrastre = tamañoPozo;
             }
         }
+        if (arrastre > 0 && !pozosLaterales.isEmpty()) {
+            pozosLaterales.get(0).cantidad += arrastre;
+        }
 
         return pozosLaterales;
     }
 
-    //Procesa los resultados finales considerando los pozos laterales
+    //Un jugador puede ganar una capa si no se retiró, puso fichas en ella y,
+    //si está all-in, su aporte la cubre completa
+    private boolean puedeGanarCapa(int asiento, int capa) {
+        Jugador jugador = jugadores.get(asiento);
+        if (!jugador.estaActivo() && !jugador.isAllIn()) {
+            return false;
+        }
+        int aporte = libroApuestas.getEnMano(asiento);
+        return aporte > libroApuestas.getLimiteInferior(capa)
+                && (!jugador.isAllIn() || aporte >= libroApuestas.getLimiteSuperior(capa));
+    }
+
+    //Procesa los resultados finales considerando los pozos laterales; cada mano
+    //se evalúa una sola vez y los empates se reparten el pozo que disputan
     protected void procesarResultadosFinales() {
-        // Si no hay jugadores all-in, usar el método normal
+        ResultadoShowdown resultado = calcularShowdown();
+
+        // Sin jugadores all-in hay un solo pozo para todos los que llegan al showdown
         if (!hayJugadoresAllIn()) {
-            int indiceGanador = determinarGanador();
-            if (indiceGanador >= 0 && indiceGanador < jugadores.size()) {
-                finalizarRonda(jugadores.get(indiceGanador));
+            int[] ganadores = resultado.getGanadores();
+            if (ganadores.length == 1) {
+                finalizarRonda(jugadores.get(ganadores[0]));
+            } else if (ganadores.length > 1) {
+                StringBuilder resultadoFinal = new StringBuilder("Resultados finales: ");
+                ArrayList<Jugador> empatados = new ArrayList<>();
+                for (int asiento : ganadores) {
+                    empatados.add(jugadores.get(asiento));
+                }
+                repartirPozo(pozo, empatados, resultadoFinal);
+                pozo = 0;
+                finalizarRonda(null);
+                mensajeEstado = resultadoFinal.toString();
             }
+            resultadoShowdown = resultado;
             return;
         }
 
@@ -398,91 +477,84 @@ public abstract class JuegoPoker {
         ArrayList<PozoLateral> pozosLaterales = crearPozosLaterales();
         StringBuilder resultadoFinal = new StringBuilder("Resultados finales: ");
 
-        // Evalúa cada pozo lateral para determinar ganadores y repartir fichas
+        // Cada pozo es para los elegibles del mejor grupo del showdown
         for (PozoLateral pozo : pozosLaterales) {
-            // Si solo hay un jugador elegible, ya se le devolvieron sus fichas
-            if (pozo.getJugadoresElegibles().size() <= 1) {
-                continue;
-            }
-
-            //Busca la mejor mano entre los jugadores elegibles
-            int mejorValor = -1;
+            int mejorGrupo = Integer.MAX_VALUE;
             ArrayList<Jugador> ganadores = new ArrayList<>();
-
             for (Jugador jugador : pozo.getJugadoresElegibles()) {
-                if (jugador.getMano() != null) {
-                    int valorMano = evaluarMano(jugador.getMano());
-
-                    if (valorMano > mejorValor) {
-                        //Nueva mejor mano
-                        mejorValor = valorMano;
-                        ganadores.clear();
-                        ganadores.add(jugador);
-                    } else if (valorMano == mejorValor) {
-                        //Empate
-                        ganadores.add(jugador);
-                    }
+                int grupo = resultado.getGrupo(jugadores.indexOf(jugador));
+                if (grupo < 0) {
+                    continue;
                 }
-            }
-
-            //Reparte el pozo entre los ganadores y actualiza el resultado
-            if (!ganadores.isEmpty()) {
-                int cantidadPorJugador = pozo.getCantidad() / ganadores.size();
-                int resto = pozo.getCantidad() % ganadores.size();
-
-                for (Jugador ganador : ganadores) {
-                    int ganancia = cantidadPorJugador;
-                    if (resto > 0) {
-                        ganancia++;
-                        resto--;
-                    }
-
-                    ganador.agregarFichas(ganancia);
-                    resultadoFinal.append(ganador.getNombre())
-                            .append(" gana ")
-                            .append(ganancia)
-                            .append(" fichas");
-
-                    if (ganadores.size() > 1) {
-                        resultadoFinal.append(" (empate). ");
-                    } else {
-                        resultadoFinal.append(". ");
-                    }
+                if (grupo < mejorGrupo) {
+                    //Nueva mejor mano
+                    mejorGrupo = grupo;
+                    ganadores.clear();
+                    ganadores.add(jugador);
+                } else if (grupo == mejorGrupo) {
+                    //Empate
+                    ganadores.add(jugador);
                 }
             }
+
+            repartirPozo(pozo.getCantidad(), ganadores, resultadoFinal);
         }
         //Actualiza estado final y resetea el pozo
         mensajeEstado = resultadoFinal.toString();
         pozo = 0; // El pozo ya ha sido distribuido
+        libroApuestas.reiniciar();
         rondaTerminada = true;
         estadoActual = EstadoJuego.RONDA_FINALIZADA;
+        resultadoShowdown = resultado;
+    }
+
+    //Reparte la cantidad entre los ganadores; las fichas que no se dividen exacto
+    //van una a cada uno en orden, y anota lo que gana cada quien
+    private void repartirPozo(int cantidad, ArrayList<Jugador> ganadores, StringBuilder resultadoFinal) {
+        if (ganadores.isEmpty()) {
+            return;
+        }
+        int cantidadPorJugador = cantidad / ganadores.size();
+        int resto = cantidad % ganadores.size();
+
+        for (Jugador ganador : ganadores) {
+            int ganancia = cantidadPorJugador;
+            if (resto > 0) {
+                ganancia++;
+                resto--;
+            }
+
+            ganador.agregarFichas(ganancia);
+            resultadoFinal.append(ganador.getNombre())
+                    .append(" gana ")
+                    .append(ganancia)
+                    .append(" fichas");
+
+            if (ganadores.size() > 1) {
+                resultadoFinal.append(" (empate). ");
+            } else {
+                resultadoFinal.append(". ");
+            }
+        }
     }
 
     //Evalúa una mano de póker para determinar su valor
     //Si la evaluación es común puede usarse este método base
+    //Conserva la escala clásica: 15..23 por categoría o la carta alta
     protected int evaluarMano(Mano mano) {
-        if (mano.esEscaleraReal()) {
-            return 23;
-        } else if (mano.esEscaleraColor()) {
-            return 22;
-        } else if (mano.esPoker()) {
-            return 21;
-        } else if (mano.hayFullHouse()) {
-            return 20;
-        } else if (mano.sonDelMismoPalo()) {
-            return 19;
-        } else if (mano.esEscalera()) {
-            return 18;
-        } else if (mano.hayTercia()) {
-            return 17;
-        } else if (mano.hayDosPares()) {
-            return 16;
-        } else if (mano.hayUnPar()) {
-            return 15;
-        } else {
-            int valor = mano.obtenerCartaAlta();
-            return valor;
-        }
+        return EvaluadorManos.valorClasico(evaluarClaveMano(mano));
+    }
+
+    //Evalúa una mano en una sola pasada y devuelve una clave comparable
+    //que ya incluye las cartas de desempate
+    protected int evaluarClaveMano(Mano mano) {
+        return EvaluadorManos.evaluar(mano);
+    }
+
+    //Clave de la mano de un jugador en el showdown
+    //Las variantes con cartas comunitarias la sobrescriben
+    protected int evaluarClaveJugador(int indiceJugador) {
+        return evaluarClaveMano(jugadores.get(indiceJugador).getMano());
     }
 
     //Clase interna para representar un pozo lateral en situaciones de all-in
@@ -1,4 +1,5 @@
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Representa al jugador
@@ -126,7 +127,7 @@ public class Jugador {
         public boolean allIn;
         public boolean esTurnoActual;
         public boolean tieneCartas;
-        public ArrayList<Carta> cartas;
+        public List<Carta> cartas;
 
         /**
          * Constructor privado que inicializa los datos desde el jugador
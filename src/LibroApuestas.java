@@ -0,0 +1,129 @@
+import java.util.Arrays;
+
+/**
+ * Libro de apuestas de una mano, indexado por asiento.
+ * Lleva en arreglos de int lo que cada jugador ha puesto en la calle actual y
+ * en toda la mano, así que apostar, consultar y reiniciar no crean objetos ni
+ * buscan en mapas.
+ *
+ * También mantiene el pozo dividido en capas mientras se apuesta. Cada jugador
+ * all-in cierra una capa a la altura de su aporte total: la capa i va de
+ * getLimiteInferior(i) a getLimiteSuperior(i) y guarda las fichas que los
+ * jugadores pusieron en ese tramo. La última capa no tiene límite. Cada aporte
+ * se reparte entre las capas que cruza, y un all-in parte la capa en que cae,
+ * así que la estructura del pozo está lista en todo momento y el showdown solo
+ * tiene que decidir quién puede ganar cada capa.
+ */
+public class LibroApuestas {
+    private final int[] enRonda;
+    private final int[] enMano;
+    // Límites superiores de las capas cerradas por un all-in, de menor a mayor
+    private final int[] topes;
+    // Fichas de cada capa; la de índice numeroTopes es la que no tiene límite
+    private final int[] capas;
+    private int numeroTopes;
+
+    public LibroApuestas(int asientos) {
+        this.enRonda = new int[asientos];
+        this.enMano = new int[asientos];
+        this.topes = new int[asientos];
+        this.capas = new int[asientos + 1];
+    }
+
+    public int getNumeroAsientos() {
+        return enMano.length;
+    }
+
+    //Suma fichas a lo apostado por el jugador en la calle y en toda la mano
+    public void aportar(int asiento, int cantidad) {
+        int antes = enMano[asiento];
+        enRonda[asiento] += cantidad;
+        enMano[asiento] += cantidad;
+        if (numeroTopes == 0) {
+            // Sin all-in hay una sola capa
+            capas[0] += cantidad;
+            return;
+        }
+
+        // El tramo del aporte se reparte entre las capas que cruza
+        int despues = antes + cantidad;
+        int inferior = 0;
+        for (int capa = 0; capa <= numeroTopes; capa++) {
+            int superior = getLimiteSuperior(capa);
+            int parte = Math.min(despues, superior) - Math.max(antes, inferior);
+            if (parte > 0) {
+                capas[capa] += parte;
+            }
+            if (despues <= superior) {
+                return;
+            }
+            inferior = superior;
+        }
+    }
+
+    //El jugador quedó all-in: su aporte total cierra una capa, y la capa en la que cae
+    //se parte en la parte que él cubre y la que queda por encima
+    public void marcarAllIn(int asiento) {
+        int tope = enMano[asiento];
+        int capa = 0;
+        while (capa < numeroTopes && topes[capa] < tope) {
+            capa++;
+        }
+        if (tope == 0 || (capa < numeroTopes && topes[capa] == tope)) {
+            return;
+        }
+
+        int inferior = getLimiteInferior(capa);
+        int parteBaja = 0;
+        for (int aporte : enMano) {
+            parteBaja += Math.max(0, Math.min(aporte, tope) - inferior);
+        }
+        System.arraycopy(topes, capa, topes, capa + 1, numeroTopes - capa);
+        System.arraycopy(capas, capa, capas, capa + 1, numeroTopes + 1 - capa);
+        topes[capa] = tope;
+        capas[capa] = parteBaja;
+        capas[capa + 1] -= parteBaja;
+        numeroTopes++;
+    }
+
+    //Lo que el jugador ha puesto en la calle actual
+    public int getEnRonda(int asiento) {
+        return enRonda[asiento];
+    }
+
+    //Lo que el jugador ha puesto en toda la mano
+    public int getEnMano(int asiento) {
+        return enMano[asiento];
+    }
+
+    //Empieza una calle nueva; los totales de la mano se conservan
+    public void nuevaRonda() {
+        Arrays.fill(enRonda, 0);
+    }
+
+    //Empieza una mano nueva
+    public void reiniciar() {
+        Arrays.fill(enRonda, 0);
+        Arrays.fill(enMano, 0);
+        Arrays.fill(capas, 0);
+        numeroTopes = 0;
+    }
+
+    public int getNumeroCapas() {
+        return numeroTopes + 1;
+    }
+
+    //Aporte desde el que empieza la capa (sin incluirlo)
+    public int getLimiteInferior(int capa) {
+        return capa == 0 ? 0 : topes[capa - 1];
+    }
+
+    //Aporte en el que termina la capa; Integer.MAX_VALUE en la última
+    public int getLimiteSuperior(int capa) {
+        return capa < numeroTopes ? topes[capa] : Integer.MAX_VALUE;
+    }
+
+    public int getFichasCapa(int capa) {
+        return capas[capa];
+    }
+}
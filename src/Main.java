@@ -1,16 +1,182 @@
 import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
+/**
+ * Censo de categorías sobre todas las manos posibles.
+ * Recorre las C(52,5) manos de 5 cartas con EvaluadorManos (lo que usa
+ * evaluarMano) y las C(52,7) de 7 cartas con EvaluadorSieteCartas (lo que usa
+ * encontrarMejorMano), repartidas en el ForkJoinPool común, y compara cuántas
+ * caen en cada categoría con los conteos combinatorios conocidos. Sirve a la
+ * vez de prueba de estrés de los evaluadores sobre todo el dominio.
+ *
+ * Uso: java Main [5|7|ambas]
+ */
 public class Main {
+    private static final String[] NOMBRES = {
+            "Carta Alta", "Un Par", "Dos Pares", "Tercia", "Escalera",
+            "Color", "Full House", "Poker", "Escalera de Color", "Escalera Real"
+    };
+
+    // Conteos conocidos por categoría, de carta alta a escalera real
+    private static final long[] CONOCIDOS_CINCO = {
+            1302540, 1098240, 123552, 54912, 10200, 5108, 3744, 624, 36, 4
+    };
+    private static final long[] CONOCIDOS_SIETE = {
+            23294460, 58627800, 31433400, 6461620, 6180020, 4047644, 3473184, 224848, 37260, 4324
+    };
+
+    // Las dos primeras cartas de cada hoja (i < j), empacadas como i * 52 + j
+    private static final int[] PRIMEROS_PARES = new int[Carta.TOTAL_CARTAS * (Carta.TOTAL_CARTAS - 1) / 2];
+
+    static {
+        int n = 0;
+        for (int i = 0; i < Carta.TOTAL_CARTAS; i++) {
+            for (int j = i + 1; j < Carta.TOTAL_CARTAS; j++) {
+                PRIMEROS_PARES[n++] = i * Carta.TOTAL_CARTAS + j;
+            }
+        }
+    }
+
     public static void main(String[] args) {
-        Mazo mazo = new Mazo();
-        mazo.mostrar();
-        mazo.barajear();
-        mazo.mostrar();
-        System.out.println("Mano");
-        ArrayList<Carta> mano = mazo.sacarNCartas(5);
-        Mano mano1 = new Mano(mano);
-        mano1.mostrar();
-        System.out.println(mano1.obtenerCartaAlta());
+        String modo = args.length > 0 ? args[0] : "ambas";
+        boolean correcto = true;
+        if (!modo.equals("7")) {
+            correcto &= censo(5, CONOCIDOS_CINCO);
+        }
+        if (!modo.equals("5")) {
+            correcto &= censo(7, CONOCIDOS_SIETE);
+        }
+        if (!correcto) {
+            System.exit(1);
+        }
+    }
+
+    //Cuenta todas las manos de ese tamaño, imprime la tabla y dice si coincide con los conocidos
+    private static boolean censo(int cartas, long[] conocidos) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        long inicio = System.nanoTime();
+        long[] conteo = pool.invoke(new TareaCenso(cartas, 0, PRIMEROS_PARES.length));
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        long total = 0;
+        boolean correcto = true;
+        System.out.println("Manos de " + cartas + " cartas (" + pool.getParallelism() + " hilos)");
+        for (int categoria = conteo.length - 1; categoria >= 0; categoria--) {
+            boolean coincide = conteo[categoria] == conocidos[categoria];
+            correcto &= coincide;
+            total += conteo[categoria];
+            System.out.printf("  %-18s %,12d %s%n", NOMBRES[categoria], conteo[categoria],
+                    coincide ? "" : "(se esperaban " + String.format("%,d", conocidos[categoria]) + ")");
+        }
+        System.out.printf("  %-18s %,12d%n", "Total", total);
+        System.out.printf("  %.2f s, %,.0f manos/s%n", segundos, total / segundos);
+        System.out.println(correcto ? "  Coincide con los conteos conocidos." : "  NO coincide con los conteos conocidos.");
+        System.out.println();
+        return correcto;
+    }
+
+    /**
+     * Cuenta las manos cuyas dos primeras cartas son los pares con índice en
+     * [desde, hasta) de PRIMEROS_PARES. Cada par es una hoja; los primeros tienen
+     * más manos detrás y el robo de trabajo del pool equilibra la carga.
+     */
+    private static class TareaCenso extends RecursiveTask<long[]> {
+        private final int cartas;
+        private final int desde;
+        private final int hasta;
+
+        TareaCenso(int cartas, int desde, int hasta) {
+            this.cartas = cartas;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (hasta - desde == 1) {
+                int par = PRIMEROS_PARES[desde];
+                long[] conteo = new long[NOMBRES.length];
+                if (cartas == 5) {
+                    contarCinco(par / Carta.TOTAL_CARTAS, par % Carta.TOTAL_CARTAS, conteo);
+                } else {
+                    contarSiete(par / Carta.TOTAL_CARTAS, par % Carta.TOTAL_CARTAS, conteo);
+                }
+                return conteo;
+            }
+            int mitad = (desde + hasta) >>> 1;
+            TareaCenso izquierda = new TareaCenso(cartas, desde, mitad);
+            izquierda.fork();
+            long[] conteo = new TareaCenso(cartas, mitad, hasta).compute();
+            long[] otro = izquierda.join();
+            for (int i = 0; i < conteo.length; i++) {
+                conteo[i] += otro[i];
+            }
+            return conteo;
+        }
+    }
+
+    //Manos de 5 cartas por el mismo camino que evaluarMano, reutilizando la lista
+    private static void contarCinco(int a, int b, long[] conteo) {
+        ArrayList<Carta> mano = new ArrayList<>(5);
+        mano.add(Carta.obtener(a));
+        mano.add(Carta.obtener(b));
+        mano.add(null);
+        mano.add(null);
+        mano.add(null);
+        for (int c = b + 1; c < Carta.TOTAL_CARTAS; c++) {
+            mano.set(2, Carta.obtener(c));
+            for (int d = c + 1; d < Carta.TOTAL_CARTAS; d++) {
+                mano.set(3, Carta.obtener(d));
+                for (int e = d + 1; e < Carta.TOTAL_CARTAS; e++) {
+                    mano.set(4, Carta.obtener(e));
+                    conteo[EvaluadorManos.categoria(EvaluadorManos.evaluar(mano))]++;
+                }
+            }
+        }
+    }
+
+    //Manos de 7 cartas con las máscaras por palo que usa EvaluadorSieteCartas
+    private static void contarSiete(int a, int b, long[] conteo) {
+        int[] m2 = new int[4];
+        int[] m3 = new int[4];
+        int[] m4 = new int[4];
+        int[] m5 = new int[4];
+        int[] m6 = new int[4];
+        agregar(m2, a);
+        agregar(m2, b);
+        for (int c = b + 1; c < Carta.TOTAL_CARTAS; c++) {
+            copiarYAgregar(m2, m3, c);
+            for (int d = c + 1; d < Carta.TOTAL_CARTAS; d++) {
+                copiarYAgregar(m3, m4, d);
+                for (int e = d + 1; e < Carta.TOTAL_CARTAS; e++) {
+                    copiarYAgregar(m4, m5, e);
+                    for (int f = e + 1; f < Carta.TOTAL_CARTAS; f++) {
+                        copiarYAgregar(m5, m6, f);
+                        int p0 = m6[0], p1 = m6[1], p2 = m6[2], p3 = m6[3];
+                        for (int g = f + 1; g < Carta.TOTAL_CARTAS; g++) {
+                            int bit = 1 << (g % 13);
+                            int clave;
+                            switch (g / 13) {
+                                case Carta.CORAZONES: clave = EvaluadorSieteCartas.evaluarMascaras(p0 | bit, p1, p2, p3); break;
+                                case Carta.DIAMANTES: clave = EvaluadorSieteCartas.evaluarMascaras(p0, p1 | bit, p2, p3); break;
+                                case Carta.TREBOLES: clave = EvaluadorSieteCartas.evaluarMascaras(p0, p1, p2 | bit, p3); break;
+                                default: clave = EvaluadorSieteCartas.evaluarMascaras(p0, p1, p2, p3 | bit); break;
+                            }
+                            conteo[EvaluadorManos.categoria(clave)]++;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void copiarYAgregar(int[] origen, int[] destino, int id) {
+        System.arraycopy(origen, 0, destino, 0, 4);
+        agregar(destino, id);
+    }
 
+    private static void agregar(int[] mascaras, int id) {
+        mascaras[id / 13] |= 1 << (id % 13);
     }
 }
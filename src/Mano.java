@@ -1,213 +1,187 @@
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
-
+import java.util.List;
+
+/**
+ * Mano inmutable de cartas.
+ * Al construirla se cuentan una sola vez los valores y los palos, se ordenan
+ * los valores y se calculan la escalera y el color, así que cada predicado
+ * (hayUnPar, esEscalera, sonDelMismoPalo...) responde en tiempo constante y
+ * se puede preguntar cuantas veces se quiera. Las cartas no se pueden
+ * modificar desde fuera; para cambiar la mano se crea otra.
+ */
 public class Mano {
-    private ArrayList<Carta> mano;
+    private final List<Carta> mano;
+
+    // Cuántas cartas hay de cada valor (índices 2 a 14) y de cada palo
+    private final int[] conteoValores = new int[15];
+    private final int[] conteoPalos = new int[4];
+    // Valores de las cartas de menor a mayor
+    private final int[] valoresOrdenados;
+
+    private final int pares;
+    private final int tercias;
+    private final boolean cuatro;
+    private final int maximoRepetido;
+    private final boolean escalera;
+    private final boolean mismoPalo;
+
+    public Mano(List<Carta> cartas) {
+        this.mano = List.copyOf(cartas);
+
+        for (Carta carta : mano) {
+            conteoValores[carta.getValor()]++;
+            conteoPalos[carta.getPalo()]++;
+        }
+
+        // Los valores salen ordenados de recorrer el conteo, sin comparar cartas
+        valoresOrdenados = new int[mano.size()];
+        int n = 0;
+        int paresContados = 0;
+        int terciasContadas = 0;
+        int maximo = 0;
+        int consecutivos = 0;
+        boolean hayCincoSeguidos = false;
+        for (int valor = 2; valor <= 14; valor++) {
+            int conteo = conteoValores[valor];
+            consecutivos = conteo > 0 ? consecutivos + 1 : 0;
+            if (consecutivos == 5) {
+                hayCincoSeguidos = true;
+            }
+            for (int i = 0; i < conteo; i++) {
+                valoresOrdenados[n++] = valor;
+            }
+            if (conteo == 2) {
+                paresContados++;
+            } else if (conteo == 3) {
+                terciasContadas++;
+            }
+            maximo = Math.max(maximo, conteo);
+        }
+        pares = paresContados;
+        tercias = terciasContadas;
+        cuatro = maximo == 4;
+        maximoRepetido = maximo;
+
+        // Cinco valores seguidos, o A-2-3-4-5 (aquí A es 14); se cuenta aparte de
+        // EvaluadorManos para que VerificadorEvaluador los compare de verdad
+        escalera = hayCincoSeguidos || (conteoValores[14] > 0 && conteoValores[2] > 0
+                && conteoValores[3] > 0 && conteoValores[4] > 0 && conteoValores[5] > 0);
+        mismoPalo = !mano.isEmpty() && conteoPalos[mano.get(0).getPalo()] == mano.size();
+    }
+
+    public Mano(ConjuntoCartas cartas) {
+        this(cartas.cartas());
+    }
 
-    public Mano(ArrayList<Carta> cartas) {
-        this.mano = cartas;
+    //Las cartas de la mano como conjunto de bits
+    public ConjuntoCartas getConjunto() {
+        return ConjuntoCartas.de(mano);
     }
 
-    ArrayList<Carta> getMano() {
+    //Las cartas en el orden en que llegaron; la lista no se puede modificar
+    List<Carta> getMano() {
         return mano;
     }
 
-    public Carta eliminarCartaDePosicion(int posicion) {
-        if (posicion < 0 || posicion >= mano.size()) {
-            return null;
+    public int getNumeroCartas() {
+        return mano.size();
+    }
+
+    //Mano sin la carta de la posición dada (empezando en 1)
+    public Mano sinCartaEnPosicion(int posicion) {
+        if (posicion < 1 || posicion > mano.size()) {
+            return this;
         }
-        return mano.remove(posicion - 1);
+        ArrayList<Carta> cartas = new ArrayList<>(mano);
+        cartas.remove(posicion - 1);
+        return new Mano(cartas);
     }
 
-    public void eliminarCarta(Carta laCartaAEliminar) {
+    //Mano sin la carta dada
+    public Mano sinCarta(Carta laCartaAEliminar) {
         for (int i = 0; i < mano.size(); i++) {
             if (mano.get(i).esIgualA(laCartaAEliminar)) {
-                mano.remove(i);
-                return;
+                return sinCartaEnPosicion(i + 1);
             }
         }
+        return this;
     }
 
-    public void agregarUnaCarta(ArrayList<Carta> cartas,
-                                Carta otraCarta){
+    //Mano con una carta más al final
+    public Mano conCarta(Carta otraCarta) {
+        ArrayList<Carta> cartas = new ArrayList<>(mano);
         cartas.add(otraCarta);
-        this.mano = cartas;
+        return new Mano(cartas);
     }
 
+    //Copia de cuántas cartas hay de cada valor (índices 2 a 14)
     public int[] contarValores() {
-        int[] contadorFrecuencias = new int[15]; // hasta el 14
-
-        for (Carta carta : mano) {
-            int valor = carta.getValor();
-            contadorFrecuencias[valor]++;
-        }
-
-        return contadorFrecuencias;
+        return conteoValores.clone();
     }
 
-//valor mayor
-
-     public boolean esEscalera() {
-        ordenar();
-
-        // Verificar específicamente la escalera A-2-3-4-5 (aquí A es 14)
-        boolean tieneAs = false;
-        boolean tiene2 = false;
-        boolean tiene3 = false;
-        boolean tiene4 = false;
-        boolean tiene5 = false;
-
-        for (Carta carta : mano) {
-            int valor = carta.getValor();
-            if (valor == 14) tieneAs = true;
-            else if (valor == 2) tiene2 = true;
-            else if (valor == 3) tiene3 = true;
-            else if (valor == 4) tiene4 = true;
-            else if (valor == 5) tiene5 = true;
-        }
-
-        // Si tenemos A-2-3-4-5, es una escalera
-        if (tieneAs && tiene2 && tiene3 && tiene4 && tiene5) {
-            return true;
-        }
-
-        // Verificación de escalera normal
-        int[] contadorFrecuencias = contarValores();
-        int consecutivos = 0;
+    public int cuantasDeValor(int valor) {
+        return conteoValores[valor];
+    }
 
-        for (int i = 2; i <= 14; i++) {  // Comienza desde 2 ya que el As ahora es 14
-            if (contadorFrecuencias[i] >= 1) {
-                consecutivos++;
-                if (consecutivos == 5) {
-                    return true;
-                }
-            } else {
-                consecutivos = 0;
-            }
-        }
+    //Copia de los valores de las cartas de menor a mayor
+    public int[] getValoresOrdenados() {
+        return valoresOrdenados.clone();
+    }
 
-        return false;
+    public boolean esEscalera() {
+        return escalera;
     }
+
     public boolean esEscaleraColor() {
-        return esEscalera() && sonDelMismoPalo();
+        return escalera && mismoPalo;
     }
 
+    //Escalera de color cuya carta más baja es el 10
     public boolean esEscaleraReal() {
-        ordenar();
-        return esEscaleraColor() && mano.get(0).getValor() == 10;
+        return esEscaleraColor() && valoresOrdenados[0] == 10;
     }
 
-    public int obtenerCartaAlta(){
-        int mayorValor = 0;
-        for(Carta carta : mano){
-            if(carta.getValor() == 1){
-                mayorValor = 14;
-            }
-            if(carta.getValor() > mayorValor){
-                mayorValor = carta.getValor();
-            }
-        }
-        return mayorValor;
+    public int obtenerCartaAlta() {
+        return valoresOrdenados.length == 0 ? 0 : valoresOrdenados[valoresOrdenados.length - 1];
     }
 
     public boolean hayUnPar() {
-        int[] contadorFrecuencias = contarValores();
-        for (int i = 2; i <= 14; i++) {
-            if (contadorFrecuencias[i] == 2) {
-                return true;
-            }
-        }
-        return false;
+        return pares > 0;
     }
 
     public boolean hayDosPares() {
-        int[] contadorFrecuencias = contarValores();
-        int pares = 0;
-
-        for (int i = 2; i <= 14; i++) {
-            if (contadorFrecuencias[i] == 2) {
-                pares++;
-            }
-        }
         return pares == 2;
     }
 
     public boolean hayTercia() {
-        int[] contadorFrecuencias = contarValores();
-
-        for (int i = 2; i <= 14; i++) {
-            if (contadorFrecuencias[i] == 3) {
-                return true;
-            }
-        }
-        return false;
+        return tercias > 0;
     }
 
-    public boolean esPoker(){
-        int[] contadorFrecuencias = contarValores();
-        for (int i = 2; i <= 14; i++) {
-            if (contadorFrecuencias[i] == 4) {
-                return true;
-            }
-        }
-        return false;
+    public boolean esPoker() {
+        return cuatro;
     }
 
-
+    //Cuántas cartas hay del palo con esa figura; 0 si la figura no es de ningún palo
     public int cuantasHayCon(String figura) {
-        int cuantasHay = 0;
-        for (int i = 0; i < mano.size(); i++) {
-            if (mano.get(i).getFigura().equals(figura)) {
-                cuantasHay++;
-            }
-        }
-        return cuantasHay;
+        int palo = Carta.paloDeFigura(figura);
+        return palo < 0 ? 0 : conteoPalos[palo];
     }
 
     public boolean sonDelMismoPalo() {
-        String figura = mano.get(0).getFigura();
-        return mano.stream().allMatch(c -> figura.equals(c.getFigura()));
+        return mismoPalo;
     }
 
-    public boolean hayFullHouse(){
+    public boolean hayFullHouse() {
         return hayUnPar() && hayTercia();
     }
 
     public boolean tienenNDelMismoValor(int N) {
-        for (int i = 0; i < mano.size(); i++) {
-            int cartasMismoValor = 0;
-            for (int j = 0; j < mano.size(); j++) {
-                if (mano.get(i).getValor() == mano.get(j).getValor()) {
-                    cartasMismoValor++;
-                }
-            }
-            if (cartasMismoValor >= N) {
-                return true;
-            }
-        }
-        return false;
+        return !mano.isEmpty() && maximoRepetido >= N;
     }
 
     public void mostrar() {
         for (int i = 0; i < mano.size(); i++) {
             System.out.println(mano.get(i));
-
-        }
-    }
-
-    public void ordenar() { //
-        for (int i = 0; i < mano.size() - 1; i++) {
-            for (int j = i + 1; j < mano.size(); j++) {
-                Carta cartaA = mano.get(i);
-                Carta cartaB = mano.get(j);
-                if (cartaA.getValor() > cartaB.getValor()) {
-                    Carta temp = mano.get(i);
-                    mano.set(i, mano.get(j));
-                    mano.set(j, temp);
-                }
-            }
         }
     }
 }
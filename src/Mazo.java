@@ -1,76 +1,171 @@
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
+/**
+ * Mazo de cartas respaldado por un arreglo fijo.
+ * Repartir solo avanza un cursor: las cartas repartidas quedan antes del
+ * cursor y las que faltan por repartir después, así que sacar una carta no
+ * mueve ni crea nada.
+ * Cada mazo baraja con su propio generador aleatorio, separado (split) de
+ * una raíz común, para que las mesas no compitan por un Random compartido.
+ * reiniciar devuelve las cartas a su orden inicial, así que un reparto
+ * depende solo del generador con que se baraja: con un generador sembrado
+ * igual se repite exactamente, sin importar las manos anteriores.
+ */
 public class Mazo {
-    private ArrayList<Carta> cartas;
+    // Raíz de la que se separa el generador por defecto de cada mazo
+    private static final SplittableRandom RAIZ = new SplittableRandom();
+
+    private Carta[] cartas;
+    // Orden de las cartas al crear el mazo; reiniciar vuelve a él
+    private Carta[] ordenInicial;
+    private int numeroCartas;
+    // Posición de la siguiente carta a repartir
+    private int siguiente;
+    private RandomGenerator generador;
 
     public Mazo() {
-        cartas = new ArrayList();
-        llenar(1);
+        this(1);
+    }
+
+    public Mazo(RandomGenerator generador) {
+        this(1, generador);
     }
 
     public Mazo(int valorDeInicio) {
-        cartas = new ArrayList();
+        this(valorDeInicio, nuevoGenerador());
+    }
+
+    //Mazo con solo las cartas del conjunto, por ejemplo la baraja sin las cartas ya vistas
+    public Mazo(ConjuntoCartas cartasDelMazo, RandomGenerator generador) {
+        this.generador = generador;
+        cartas = cartasDelMazo.cartas().toArray(new Carta[0]);
+        numeroCartas = cartas.length;
+        siguiente = 0;
+        ordenInicial = cartas.clone();
+    }
+
+    public Mazo(int valorDeInicio, RandomGenerator generador) {
+        this.generador = generador;
+        cartas = new Carta[Carta.TOTAL_CARTAS];
+        numeroCartas = 0;
+        siguiente = 0;
         llenar(valorDeInicio);
+        ordenInicial = cartas.clone();
     }
 
     public void mostrar() {
-        for (int i = 0; i < cartas.size(); i++) {
-            System.out.println(cartas.get(i));
+        for (int i = siguiente; i < numeroCartas; i++) {
+            System.out.println(cartas[i]);
         }
     }
 
 
     private void llenar(int N) {
-        //Se itera N veces para generar las N cartas
+        //Se itera N veces para tomar las N cartas de la tabla canónica
+        //Los palos van en el orden corazones, diamantes, tréboles y espadas
         for (int i = N; i < 5; i++) {
             for (int j = N; j < 14; j++) {
-                String color = "";
-                String figura = "";
-                //Switch Case para asignar la figura y su respectivo color
-                switch (i) {
-                    case 1:
-                        figura = "corazones";
-                        color = "rojo";
-                        break;
-                    case 2:
-                        figura = "diamantes";
-                        color = "rojo";
-                        break;
-                    case 3:
-                        figura = "tréboles";
-                        color = "negro";
-                        break;
-                    case 4:
-                        figura = "espadas";
-                        color = "negro";
-                        break;
-                }
-                // Convertir el valor 1 a 14 para el As
-                int valorCarta = j;
-                if (j == 1) {
-                    valorCarta = 14;
-                }
-                //se crea un nuevo objeto de la clase Carta para posteriormente añadirla al arreglo
-                Carta carta = new Carta(j, color, figura);
-                cartas.add(carta);
+                // Carta.obtener convierte el valor 1 a 14 para el As
+                cartas[numeroCartas++] = Carta.obtener(j, i - 1);
             }
         }
     }
 
+    //Baraja todas las cartas que faltan por repartir (Fisher-Yates)
     public void barajear() {
-        Collections.shuffle(cartas);
+        barajear(cartasRestantes());
+    }
+
+    //Baraja solo las primeras n cartas por repartir: el Fisher-Yates se
+    //detiene en cuanto esas posiciones quedan elegidas al azar entre todas
+    //las restantes, así que basta con n pasos si la mano usará n cartas
+    public void barajear(int n) {
+        int limite = Math.min(siguiente + n, numeroCartas - 1);
+        for (int i = siguiente; i < limite; i++) {
+            int j = i + generador.nextInt(numeroCartas - i);
+            Carta temporal = cartas[i];
+            cartas[i] = cartas[j];
+            cartas[j] = temporal;
+        }
+    }
+
+    //Recoge todas las cartas repartidas para volver a usar el mazo en otra mano
+    //Regresa el cursor y el orden inicial, para que el próximo barajeo no dependa
+    //del orden en que quedaron las manos anteriores
+    public void reiniciar() {
+        System.arraycopy(ordenInicial, 0, cartas, 0, numeroCartas);
+        siguiente = 0;
+    }
+
+    //Reparte la siguiente carta, o null si el mazo se acabó
+    public Carta sacarCarta() {
+        if (siguiente >= numeroCartas) {
+            return null;
+        }
+        return cartas[siguiente++];
+    }
+
+    //Descarta la siguiente carta sin repartirla
+    public void quemarCarta() {
+        if (siguiente < numeroCartas) {
+            siguiente++;
+        }
     }
 
     public ArrayList<Carta> sacarNCartas(int numeroCartas) {
-        ArrayList<Carta> mano = new ArrayList();
+        ArrayList<Carta> mano = new ArrayList<>(numeroCartas);
 
         for (int i = 0; i < numeroCartas; i++) {
-            Carta carta = cartas.remove(0);
+            Carta carta = sacarCarta();
+            if (carta == null) {
+                break;
+            }
             mano.add(carta);
         }
         return mano;
     }
-}
 
+    //Crea un generador rápido e independiente para una mesa o un hilo
+    public static RandomGenerator.SplittableGenerator nuevoGenerador() {
+        synchronized (RAIZ) {
+            return RAIZ.split();
+        }
+    }
+
+    //Fija la semilla para que el reparto se pueda reproducir
+    public void setSemilla(long semilla) {
+        this.generador = new SplittableRandom(semilla);
+    }
+
+    public void setGenerador(RandomGenerator generador) {
+        this.generador = generador;
+    }
+
+    public RandomGenerator getGenerador() {
+        return generador;
+    }
+
+    public int cartasRestantes() {
+        return numeroCartas - siguiente;
+    }
+
+    //Cartas que ya salieron del mazo (repartidas o quemadas) desde el último reinicio
+    public ConjuntoCartas getRepartidas() {
+        return conjunto(0, siguiente);
+    }
+
+    //Cartas que faltan por repartir
+    public ConjuntoCartas getRestantes() {
+        return conjunto(siguiente, numeroCartas);
+    }
+
+    private ConjuntoCartas conjunto(int desde, int hasta) {
+        long mascara = 0;
+        for (int i = desde; i < hasta; i++) {
+            mascara |= ConjuntoCartas.bit(cartas[i]);
+        }
+        return ConjuntoCartas.deMascara(mascara);
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Una forma de descartar en Five Card Draw y lo que se puede esperar de ella.
+ * Guarda las posiciones a descartar (empezando en 1, como las recibe
+ * PokerCincoCartas.descartar), cuántas reposiciones posibles hay, cuántas de
+ * ellas terminan en cada categoría de mano y el valor esperado de esa
+ * distribución con los pesos por categoría que usó AsesorDescarte para
+ * comparar las opciones.
+ */
+public class OpcionDescarte {
+    public static final int CATEGORIAS = EvaluadorManos.ESCALERA_REAL + 1;
+
+    private final int[] posiciones;
+    private final long combinaciones;
+    private final long[] conteoCategorias;
+    private final double valorEsperado;
+
+    OpcionDescarte(int[] posiciones, long combinaciones, long[] conteoCategorias, double[] pesos) {
+        this.posiciones = posiciones;
+        this.combinaciones = combinaciones;
+        this.conteoCategorias = conteoCategorias;
+        this.valorEsperado = calcularValorEsperado(pesos);
+    }
+
+    //Posiciones de las cartas a descartar, de 1 a 5
+    public int[] getPosiciones() {
+        return posiciones.clone();
+    }
+
+    public int getNumeroDescartes() {
+        return posiciones.length;
+    }
+
+    //Número de reposiciones distintas que se enumeraron
+    public long getCombinaciones() {
+        return combinaciones;
+    }
+
+    public long getConteo(int categoria) {
+        return conteoCategorias[categoria];
+    }
+
+    //Probabilidad de terminar con una mano de la categoría, entre 0 y 1
+    public double getProbabilidad(int categoria) {
+        return combinaciones == 0 ? 0 : (double) conteoCategorias[categoria] / combinaciones;
+    }
+
+    public double[] getProbabilidades() {
+        double[] probabilidades = new double[CATEGORIAS];
+        for (int categoria = 0; categoria < CATEGORIAS; categoria++) {
+            probabilidades[categoria] = getProbabilidad(categoria);
+        }
+        return probabilidades;
+    }
+
+    //Valor esperado con los pesos con que se comparó la opción
+    public double getValorEsperado() {
+        return valorEsperado;
+    }
+
+    //Valor esperado con otros pesos, uno por categoría: suma de peso por probabilidad
+    public double calcularValorEsperado(double[] pesos) {
+        double valor = 0;
+        for (int categoria = 0; categoria < CATEGORIAS; categoria++) {
+            valor += pesos[categoria] * getProbabilidad(categoria);
+        }
+        return valor;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (posiciones.length == 0) {
+            sb.append("No descartar");
+        } else {
+            sb.append("Descartar");
+            for (int posicion : posiciones) {
+                sb.append(' ').append(posicion);
+            }
+        }
+        sb.append(String.format(" (valor esperado %.4f)%n", valorEsperado));
+        for (int categoria = CATEGORIAS - 1; categoria >= 0; categoria--) {
+            if (conteoCategorias[categoria] > 0) {
+                sb.append(String.format("  %-26s %8.4f%%%n",
+                        EvaluadorManos.nombreCategoria(categoria << EvaluadorManos.BITS_CATEGORIA),
+                        100 * getProbabilidad(categoria)));
+            }
+        }
+        return sb.toString();
+    }
+}
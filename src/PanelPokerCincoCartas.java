@@ -3,6 +3,7 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.HashMap;
 
 /**
@@ -36,6 +37,7 @@ public class PanelPokerCincoCartas extends JPanel {
     private JButton btnIniciarJuego;
     private JButton btnDescartar;
     private JButton btnNoDescartar;
+    private JButton btnSugerirDescarte;
     private JSpinner spinnerApuesta;
 
     // Componentes de descarte
@@ -244,6 +246,15 @@ public class PanelPokerCincoCartas extends JPanel {
         btnNoDescartar.setAlignmentX(Component.CENTER_ALIGNMENT);
         btnNoDescartar.setEnabled(false);
 
+        btnSugerirDescarte = crearBoton("Sugerir descarte", new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                sugerirDescarte();
+            }
+        });
+        btnSugerirDescarte.setAlignmentX(Component.CENTER_ALIGNMENT);
+        btnSugerirDescarte.setEnabled(false);
+
         // Añadir componentes al panel
         panelDescarte.add(Box.createVerticalStrut(10));
         panelDescarte.add(lblTitulo);
@@ -253,6 +264,8 @@ public class PanelPokerCincoCartas extends JPanel {
         panelDescarte.add(btnDescartar);
         panelDescarte.add(Box.createVerticalStrut(10));
         panelDescarte.add(btnNoDescartar);
+        panelDescarte.add(Box.createVerticalStrut(10));
+        panelDescarte.add(btnSugerirDescarte);
         panelDescarte.add(Box.createVerticalGlue());
     }
 
@@ -289,6 +302,25 @@ public class PanelPokerCincoCartas extends JPanel {
         }
     }
 
+    /**
+     * Marca las cartas que conviene descartar según AsesorDescarte y muestra
+     * las probabilidades de cada mano final en el tooltip del botón
+     */
+    private void sugerirDescarte() {
+        OpcionDescarte opcion = juego.aconsejarDescarte(juego.obtenerEstadoJuego().turnoActualIndice);
+        if (opcion == null) {
+            return;
+        }
+
+        for (JCheckBox check : checkBoxesDescarte) {
+            check.setSelected(false);
+        }
+        for (int posicion : opcion.getPosiciones()) {
+            checkBoxesDescarte.get(posicion - 1).setSelected(true);
+        }
+        btnSugerirDescarte.setToolTipText("<html>" + opcion.toString().replace(System.lineSeparator(), "<br>") + "</html>");
+    }
+
     /**
      * Crea el panel de controles inferior
      */
@@ -478,7 +510,7 @@ public class PanelPokerCincoCartas extends JPanel {
 
         // Actualizar etiquetas de información
         lblEstadoJuego.setText("Estado: " + estado.mensajeEstado);
-        lblPozo.setText("Pozo: $" + estado.pozo);
+        lblPozo.setText("Pozo: " + estado.describirPozo());
         lblApuestaActual.setText("Apuesta: $" + estado.apuestaActual);
         lblTurnoActual.setText("Turno: " + estado.turnoActualNombre);
         lblEtapa.setText("Etapa: " + juego.getEtapaActual());
@@ -489,6 +521,7 @@ public class PanelPokerCincoCartas extends JPanel {
             // Mostrar cartas si es turno del jugador O si estamos en la etapa final
             boolean mostrarCartas = (i == estado.turnoActualIndice) || mostrarTodasLasCartas;
             panelesJugadores.get(i).actualizar(estado.infoJugadores.get(i), mostrarCartas);
+            panelesJugadores.get(i).mostrarResultado(estado.showdown);
         }
 
         // Actualizar botones según el estado
@@ -516,6 +549,7 @@ public class PanelPokerCincoCartas extends JPanel {
             btnRetirarse.setEnabled(false);
             btnDescartar.setEnabled(false);
             btnNoDescartar.setEnabled(false);
+            btnSugerirDescarte.setEnabled(false);
             btnIniciarJuego.setEnabled(true);
 
             // Deshabilitar checkboxes de descarte
@@ -535,6 +569,7 @@ public class PanelPokerCincoCartas extends JPanel {
             btnRetirarse.setEnabled(false);
             btnDescartar.setEnabled(false);
             btnNoDescartar.setEnabled(false);
+            btnSugerirDescarte.setEnabled(false);
             btnIniciarJuego.setEnabled(true);
 
 
@@ -559,10 +594,12 @@ public class PanelPokerCincoCartas extends JPanel {
             // Habilitar checkboxes para la selección de cartas
             Jugador jugadorActual = juego.getJugadores().get(estado.turnoActualIndice);
             boolean habilitarCheckboxes = jugadorActual.estaActivo() && !jugadorActual.isAllIn();
+            btnSugerirDescarte.setEnabled(habilitarCheckboxes);
+            btnSugerirDescarte.setToolTipText(null);
 
             // Configurar los checkboxes con los nombres de las cartas del jugador actual
             if (habilitarCheckboxes && jugadorActual.getMano() != null) {
-                ArrayList<Carta> cartasJugador = jugadorActual.getMano().getMano();
+                List<Carta> cartasJugador = jugadorActual.getMano().getMano();
                 for (int i = 0; i < checkBoxesDescarte.size(); i++) {
                     if (i < cartasJugador.size()) {
                         checkBoxesDescarte.get(i).setText("Carta " + (i+1) + ": " + cartasJugador.get(i).toString());
@@ -582,6 +619,7 @@ public class PanelPokerCincoCartas extends JPanel {
             // En otras etapas, habilitar botones de apuesta y deshabilitar descarte
             btnDescartar.setEnabled(false);
             btnNoDescartar.setEnabled(false);
+            btnSugerirDescarte.setEnabled(false);
 
             // Deshabilitar checkboxes de descarte
             for (JCheckBox check : checkBoxesDescarte) {
@@ -658,9 +696,7 @@ public class PanelPokerCincoCartas extends JPanel {
             this.cartasLabels = new ArrayList<>();
 
             try {
-                ImageIcon iconoOriginal = new ImageIcon("G:\\4toSemestre\\POO\\Poker-Proyecto-Final\\src\\recursos\\reverso.png");
-                Image imagenEscalada = iconoOriginal.getImage().getScaledInstance(ANCHO_CARTA, ALTO_CARTA, Image.SCALE_SMOOTH);
-                imagenReverso = new ImageIcon(imagenEscalada);
+                imagenReverso = ImagenesCartas.obtenerReversoEscalado(ANCHO_CARTA, ALTO_CARTA);
             } catch (Exception e) {
                 System.err.println("Error al cargar la imagen del reverso: " + e.getMessage());
                 imagenReverso = null;
@@ -719,6 +755,17 @@ public class PanelPokerCincoCartas extends JPanel {
             add(panelInferior, BorderLayout.SOUTH);
         }
 
+        //Marca en el estado si el jugador ganó o empató el último showdown
+        public void mostrarResultado(ResultadoShowdown resultado) {
+            if (resultado == null || resultado.getGrupo(indice) != 0) {
+                lblEstado.setToolTipText(null);
+                return;
+            }
+            lblEstado.setText(resultado.hayEmpate() ? "Empata" : "Gana");
+            lblEstado.setForeground(new Color(255, 215, 0));
+            lblEstado.setToolTipText(resultado.getNombreMano(indice));
+        }
+
         /**
          * Actualiza la información del jugador
          * El parámetro mostrarCartas controla si se muestran las cartas (solo para el jugador activo)
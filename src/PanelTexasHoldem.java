@@ -402,7 +402,7 @@ public class PanelTexasHoldem extends JPanel {
 
         // Actualizar etiquetas de información
         lblEstadoJuego.setText("Estado: " + estado.mensajeEstado);
-        lblPozo.setText("Pozo: $" + estado.pozo);
+        lblPozo.setText("Pozo: " + estado.describirPozo());
         lblApuestaActual.setText("Apuesta: $" + estado.apuestaActual);
         lblTurnoActual.setText("Turno: " + estado.turnoActualNombre);
         lblEtapa.setText("Etapa: " + juego.getNombreEtapa());
@@ -415,6 +415,7 @@ public class PanelTexasHoldem extends JPanel {
                 estado.turnoActualIndice = i;
             }
             panelesJugadores.get(i).actualizar(estado.infoJugadores.get(i));
+            panelesJugadores.get(i).mostrarResultado(estado.showdown);
         }
 
         // Restaurar el índice correcto después de la actualización
@@ -584,9 +585,7 @@ public class PanelTexasHoldem extends JPanel {
             this.posicionEspecial = "";
 
             try {
-                ImageIcon iconoOriginal = new ImageIcon("G:\\4toSemestre\\POO\\Poker-Proyecto-Final\\src\\recursos\\reverso.png");
-                Image imagenEscalada = iconoOriginal.getImage().getScaledInstance(ANCHO_CARTA, ALTO_CARTA, Image.SCALE_SMOOTH);
-                imagenReverso = new ImageIcon(imagenEscalada);
+                imagenReverso = ImagenesCartas.obtenerReversoEscalado(ANCHO_CARTA, ALTO_CARTA);
             } catch (Exception e) {
                 System.err.println("Error al cargar la imagen del reverso: " + e.getMessage());
                 imagenReverso = null;
@@ -702,6 +701,9 @@ public class PanelTexasHoldem extends JPanel {
                 }
                 carta1.setOpaque(false);
                 carta2.setOpaque(false);
+
+                // Mostrar la mano que lleva el jugador hasta esta calle
+                panelCartas.setToolTipText(juego.obtenerNombreManoActual(índice));
             } else {
                 // Si las cartas no son visibles o el jugador no tiene cartas
                 carta1.setIcon(imagenReverso);
@@ -711,6 +713,8 @@ public class PanelTexasHoldem extends JPanel {
                 carta2.setIcon(imagenReverso);
                 carta2.setBackground(new Color(200, 30, 30));
                 carta2.setOpaque(true);
+
+                panelCartas.setToolTipText(null);
             }
             // Actualizar el borde según si es el turno actual
             if (esTurnoActual) {
@@ -732,6 +736,17 @@ public class PanelTexasHoldem extends JPanel {
             }
         }
 
+        //Marca en el estado si el jugador ganó o empató el último showdown
+        public void mostrarResultado(ResultadoShowdown resultado) {
+            if (resultado == null || resultado.getGrupo(índice) != 0) {
+                lblEstado.setToolTipText(null);
+                return;
+            }
+            lblEstado.setText(resultado.hayEmpate() ? "Empata" : "Gana");
+            lblEstado.setForeground(new Color(255, 215, 0));
+            lblEstado.setToolTipText(resultado.getNombreMano(índice));
+        }
+
         //Establece si este jugador tiene el turno actual
         public void setEsTurnoActual(boolean esTurnoActual) {
             this.esTurnoActual = esTurnoActual;
@@ -1,4 +1,5 @@
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Implementación del juego de Poker con cinco cartas (Five Card Draw)
@@ -62,8 +63,9 @@ public class PokerCincoCartas extends JuegoPoker {
         }
 
         // Continuar con la inicialización normal
-        // Resetear el mazo
-        this.mazo = new Mazo();
+        // Recoger el mazo de la mesa y volver a barajarlo
+        iniciarGeneradorMano();
+        this.mazo.reiniciar();
         this.mazo.barajear();
 
         // Resetear estado del juego
@@ -72,7 +74,7 @@ public class PokerCincoCartas extends JuegoPoker {
         this.rondaTerminada = false;
         this.estadoActual = EstadoJuego.ESPERANDO_INICIO;
         this.mensajeEstado = "Juego de Cinco Cartas inicializado.";
-        this.apuestasAcumuladas.clear();
+        this.libroApuestas.reiniciar();
 
         // Resetear estado específico del Five Card Draw
         this.etapaActual = EtapaJuego.APUESTAS_INICIALES;
@@ -156,7 +158,7 @@ public class PokerCincoCartas extends JuegoPoker {
         int maxIntentos = jugadores.size();
 
         while (!encontrado && intentos < maxIntentos) {
-            turnoActual = (int) (Math.random() * numeroDeJugadores);
+            turnoActual = generador.nextInt(numeroDeJugadores);
             if (jugadores.get(turnoActual).estaActivo() && jugadores.get(turnoActual).getFichas() > 0) {
                 encontrado = true;
             }
@@ -174,40 +176,6 @@ public class PokerCincoCartas extends JuegoPoker {
     }
 
 
-    /**
-     * Evalúa las manos de los jugadores y determina el ganador
-     */
-    @Override
-    public int determinarGanador() {
-        int mejorValor = -1;
-        int indiceGanador = -1;
-        int cartaAltaGanador = -1;
-
-        for (int i = 0; i < jugadores.size(); i++) {
-            Jugador jugador = jugadores.get(i);
-            if ((jugador.estaActivo() || jugador.isAllIn()) && jugador.getMano() != null) {
-                int valorMano = evaluarMano(jugador.getMano());
-                int cartaAlta = jugador.getMano().obtenerCartaAlta();
-
-                if (valorMano > mejorValor) {
-                    mejorValor = valorMano;
-                    indiceGanador = i;
-                    cartaAltaGanador = cartaAlta;
-                }
-                else if (valorMano == mejorValor) {
-                    // Empate en el tipo de mano
-                    // Desempatar por carta alta
-                    if (cartaAlta > cartaAltaGanador) {
-                        indiceGanador = i;
-                        cartaAltaGanador = cartaAlta;
-                    }
-                }
-            }
-        }
-
-        return indiceGanador;
-    }
-
     /**
      * Implementa la lógica de una ronda completa de poker de 5 cartas
      */
@@ -233,10 +201,10 @@ public class PokerCincoCartas extends JuegoPoker {
         boolean todosIgualados = true;
         int apuestaMaxima = 0;
         boolean todosHanTenidoTurno = true;
-        for (Jugador jugador : jugadores) {
+        for (int i = 0; i < jugadores.size(); i++) {
+            Jugador jugador = jugadores.get(i);
             if (jugador.estaActivo() && !jugador.isAllIn()) {
-                int apuestaJugador = apuestasAcumuladas.getOrDefault(jugador, 0);
-                apuestaMaxima = Math.max(apuestaMaxima, apuestaJugador);
+                apuestaMaxima = Math.max(apuestaMaxima, libroApuestas.getEnMano(i));
             }
         }
 
@@ -246,8 +214,7 @@ public class PokerCincoCartas extends JuegoPoker {
                 if (!jugadoresTurno[i]) {
                     todosHanTenidoTurno = false;
                 }
-                int apuestaJugador = apuestasAcumuladas.getOrDefault(jugador, 0);
-                if (apuestaJugador < apuestaMaxima && jugadoresTurno[i]) {
+                if (libroApuestas.getEnMano(i) < apuestaMaxima && jugadoresTurno[i]) {
                     todosIgualados = false;
                 }
             }
@@ -278,6 +245,7 @@ public class PokerCincoCartas extends JuegoPoker {
                 etapaActual = EtapaJuego.DESCARTE;
                 mensajeEstado = "Etapa de descarte. Cada jugador puede descartar hasta 3 cartas.";
                 apuestaActual = 0;
+                libroApuestas.nuevaRonda();
                 jugadoresQueHanDescartado = 0;
                 rondaDeDescarteTerminada = false;
                 resetearTurno();
@@ -293,6 +261,7 @@ public class PokerCincoCartas extends JuegoPoker {
                     etapaActual = EtapaJuego.APUESTAS_FINALES;
                     mensajeEstado = "Etapa de apuestas finales.";
                     apuestaActual = 0;
+                    libroApuestas.nuevaRonda();
                     resetearTurno();
                     jugadorInicialRonda = turnoActual;
                     for (int i = 0; i < jugadoresTurno.length; i++) {
@@ -307,14 +276,8 @@ public class PokerCincoCartas extends JuegoPoker {
                 mensajeEstado = "Hora de mostrar las cartas.";
 
 
-                if (hayJugadoresAllIn()) {
-                    procesarResultadosFinales();
-                } else {
-                    int indiceGanador = determinarGanador();
-                    if (indiceGanador >= 0) {
-                        finalizarRonda(jugadores.get(indiceGanador));
-                    }
-                }
+                // Con o sin all-in, reparte el pozo y los empates con el mismo resultado
+                procesarResultadosFinales();
 
                 rondaTerminada = true;
                 estadoActual = EstadoJuego.RONDA_FINALIZADA;
@@ -407,31 +370,32 @@ public class PokerCincoCartas extends JuegoPoker {
             return false;
         }
 
-        // Ordenar posiciones de mayor a menor para no afectar índices al eliminar
-        ArrayList<Integer> posicionesOrdenadas = new ArrayList<>();
-        for (int pos : posiciones) {
-            posicionesOrdenadas.add(pos);
-        }
-        posicionesOrdenadas.sort((a, b) -> b - a);
+        // Ordenar posiciones para eliminarlas de mayor a menor sin afectar índices
+        int[] posicionesOrdenadas = posiciones.clone();
+        Arrays.sort(posicionesOrdenadas);
 
         // Eliminar las cartas seleccionadas
-        ArrayList<Carta> manoActual = jugadorActual.getMano().getMano();
+        ArrayList<Carta> manoActual = new ArrayList<>(jugadorActual.getMano().getMano());
 
-        for (int pos : posicionesOrdenadas) {
+        for (int i = posicionesOrdenadas.length - 1; i >= 0; i--) {
+            int pos = posicionesOrdenadas[i];
             if (pos >= 1 && pos <= manoActual.size()) {
                 manoActual.remove(pos - 1); // Ajuste porque las posiciones empiezan en 1
             }
         }
 
-        // Reponer las cartas descartadas
-        int cartasAReponer = posicionesOrdenadas.size();
+        // Reponer las cartas descartadas directamente del cursor del mazo
+        int cartasAReponer = posicionesOrdenadas.length;
         for (int i = 0; i < cartasAReponer; i++) {
-            ArrayList<Carta> nuevaCarta = mazo.sacarNCartas(1);
-            if (!nuevaCarta.isEmpty()) {
-                manoActual.add(nuevaCarta.get(0));
+            Carta nuevaCarta = mazo.sacarCarta();
+            if (nuevaCarta != null) {
+                manoActual.add(nuevaCarta);
             }
         }
 
+        // La mano es inmutable: el jugador recibe una nueva con las cartas repuestas
+        jugadorActual.setMano(new Mano(manoActual));
+
         mensajeEstado = jugadorActual.getNombre() + " descartó " + cartasAReponer + " cartas.";
         jugadoresQueHanDescartado++;
 
@@ -479,6 +443,17 @@ public class PokerCincoCartas extends JuegoPoker {
         return true;
     }
 
+    /**
+     * Calcula el mejor descarte para la mano de un jugador con AsesorDescarte
+     */
+    public OpcionDescarte aconsejarDescarte(int indiceJugador) {
+        Mano mano = jugadores.get(indiceJugador).getMano();
+        if (mano == null || mano.getMano().size() != 5) {
+            return null;
+        }
+        return AsesorDescarte.aconsejar(mano);
+    }
+
     /**
      * Obtiene información sobre la etapa actual del juego
      */
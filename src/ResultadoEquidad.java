@@ -0,0 +1,92 @@
+/**
+ * Resultado de un cálculo de equidad.
+ * Para cada jugador guarda cuántos repartos gana solo, cuántos empata y cuántos
+ * pierde, y la fracción del pozo que le corresponde en promedio (un empate
+ * entre k jugadores cuenta 1/k para cada uno). Si es exacto, los repartos son
+ * todas las mesas posibles y no una muestra.
+ */
+public class ResultadoEquidad {
+    private final long repartos;
+    private final long[] ganadas;
+    private final long[] empates;
+    private final double[] equidad;
+    private final boolean exacto;
+
+    ResultadoEquidad(long repartos, long[] ganadas, long[] empates, double[] equidad, boolean exacto) {
+        this.repartos = repartos;
+        this.ganadas = ganadas;
+        this.empates = empates;
+        this.equidad = equidad;
+        this.exacto = exacto;
+    }
+
+    public int getNumeroJugadores() {
+        return ganadas.length;
+    }
+
+    //Número de repartos (simulados o enumerados) sobre los que se contó
+    public long getRepartos() {
+        return repartos;
+    }
+
+    //Indica si se enumeraron todas las mesas en lugar de simular
+    public boolean isExacto() {
+        return exacto;
+    }
+
+    public long getGanadas(int jugador) {
+        return ganadas[jugador];
+    }
+
+    public long getEmpates(int jugador) {
+        return empates[jugador];
+    }
+
+    public long getPerdidas(int jugador) {
+        return repartos - ganadas[jugador] - empates[jugador];
+    }
+
+    public double getPorcentajeGanadas(int jugador) {
+        return porcentaje(ganadas[jugador]);
+    }
+
+    public double getPorcentajeEmpates(int jugador) {
+        return porcentaje(empates[jugador]);
+    }
+
+    public double getPorcentajePerdidas(int jugador) {
+        return porcentaje(getPerdidas(jugador));
+    }
+
+    //Fracción del pozo que gana el jugador en promedio, entre 0 y 1
+    public double getEquidad(int jugador) {
+        return repartos == 0 ? 0 : equidad[jugador] / repartos;
+    }
+
+    private double porcentaje(long cantidad) {
+        return repartos == 0 ? 0 : 100.0 * cantidad / repartos;
+    }
+
+    //Reacomoda el resultado por asiento; los asientos que no jugaron pierden siempre
+    ResultadoEquidad enAsientos(int[] asientos, int totalAsientos) {
+        long[] ganadasAsiento = new long[totalAsientos];
+        long[] empatesAsiento = new long[totalAsientos];
+        double[] equidadAsiento = new double[totalAsientos];
+        for (int i = 0; i < asientos.length; i++) {
+            ganadasAsiento[asientos[i]] = ganadas[i];
+            empatesAsiento[asientos[i]] = empates[i];
+            equidadAsiento[asientos[i]] = equidad[i];
+        }
+        return new ResultadoEquidad(repartos, ganadasAsiento, empatesAsiento, equidadAsiento, exacto);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < getNumeroJugadores(); i++) {
+            sb.append(String.format("Jugador %d: gana %.2f%%, empata %.2f%%, pierde %.2f%% (equidad %.4f)%n",
+                    i + 1, getPorcentajeGanadas(i), getPorcentajeEmpates(i), getPorcentajePerdidas(i), getEquidad(i)));
+        }
+        return sb.toString();
+    }
+}
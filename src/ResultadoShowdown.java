@@ -0,0 +1,105 @@
+import java.util.Arrays;
+
+/**
+ * Resultado del showdown de una mano.
+ * Guarda la clave de cada jugador que llega a mostrar cartas, evaluada una sola
+ * vez, y el orden de esos jugadores de la mejor a la peor mano con los empates
+ * agrupados: el grupo 0 son los que tienen la mejor mano, el 1 los siguientes,
+ * etc. El reparto de los pozos laterales, el mensaje final y los paneles lo
+ * consultan en lugar de volver a evaluar.
+ */
+public class ResultadoShowdown {
+    // Por asiento: clave de la mano, o -1 si el jugador no llega al showdown
+    private final int[] claves;
+    // Por asiento: grupo de la mano (0 = mejor), o -1 si no llega al showdown
+    private final int[] grupos;
+    // Asientos que llegan al showdown, de la mejor a la peor mano
+    private final int[] orden;
+    // Posición en orden donde empieza cada grupo, más el final
+    private final int[] inicioGrupos;
+
+    ResultadoShowdown(int[] claves) {
+        this.claves = claves.clone();
+        this.grupos = new int[claves.length];
+        Arrays.fill(grupos, -1);
+
+        int participantes = 0;
+        for (int clave : claves) {
+            if (clave >= 0) {
+                participantes++;
+            }
+        }
+
+        // Inserción: son a lo más 10 jugadores y con empate queda primero el asiento menor
+        orden = new int[participantes];
+        int n = 0;
+        for (int asiento = 0; asiento < claves.length; asiento++) {
+            if (claves[asiento] < 0) {
+                continue;
+            }
+            int i = n++;
+            while (i > 0 && claves[orden[i - 1]] < claves[asiento]) {
+                orden[i] = orden[i - 1];
+                i--;
+            }
+            orden[i] = asiento;
+        }
+
+        int[] inicios = new int[participantes + 1];
+        int numeroGrupos = 0;
+        for (int i = 0; i < participantes; i++) {
+            if (i == 0 || claves[orden[i]] != claves[orden[i - 1]]) {
+                inicios[numeroGrupos++] = i;
+            }
+            grupos[orden[i]] = numeroGrupos - 1;
+        }
+        inicios[numeroGrupos] = participantes;
+        inicioGrupos = Arrays.copyOf(inicios, numeroGrupos + 1);
+    }
+
+    public int getNumeroJugadores() {
+        return claves.length;
+    }
+
+    public boolean participa(int asiento) {
+        return claves[asiento] >= 0;
+    }
+
+    //Clave de la mano del jugador (la de EvaluadorManos), o -1 si no llegó al showdown
+    public int getClave(int asiento) {
+        return claves[asiento];
+    }
+
+    //Grupo de la mano del jugador (0 = la mejor), o -1 si no llegó al showdown
+    public int getGrupo(int asiento) {
+        return grupos[asiento];
+    }
+
+    public int getNumeroGrupos() {
+        return inicioGrupos.length - 1;
+    }
+
+    //Asientos de un grupo, en orden de asiento
+    public int[] getAsientosDelGrupo(int grupo) {
+        return Arrays.copyOfRange(orden, inicioGrupos[grupo], inicioGrupos[grupo + 1]);
+    }
+
+    //Asientos que llegaron al showdown, de la mejor a la peor mano
+    public int[] getOrden() {
+        return orden.clone();
+    }
+
+    //Asientos con la mejor mano; vacío si nadie llegó al showdown
+    public int[] getGanadores() {
+        return getNumeroGrupos() == 0 ? new int[0] : getAsientosDelGrupo(0);
+    }
+
+    public boolean hayEmpate() {
+        return getNumeroGrupos() > 0 && inicioGrupos[1] > 1;
+    }
+
+    //Nombre de la mano del jugador, o cadena vacía si no llegó al showdown
+    public String getNombreMano(int asiento) {
+        return participa(asiento) ? EvaluadorManos.nombreCategoria(claves[asiento]) : "";
+    }
+}
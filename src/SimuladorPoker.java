@@ -0,0 +1,236 @@
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * Simulador sin interfaz gráfica que enfrenta bots entre sí.
+ * Juega manos completas de Texas Hold'em o de Cinco Cartas usando la misma API
+ * que los paneles y al final reporta manos por segundo, tiempo por etapa y el
+ * movimiento de fichas. Los jugadores que se quedan sin fichas se recompran
+ * con el dinero inicial para que la mesa no se detenga.
+ *
+ * Uso: java SimuladorPoker [texas|cinco] [manos] [jugadores] [semilla]
+ */
+public class SimuladorPoker {
+    // Límite de acciones por mano para detectar manos atascadas
+    private static final int MAXIMO_ACCIONES_POR_MANO = 500;
+
+    private final JuegoPoker juego;
+    private final ArrayList<EstrategiaBot> bots;
+    private final int dineroInicial;
+
+    // Estadísticas acumuladas
+    private final String[] nombresEtapa;
+    private final long[] nanosPorEtapa;
+    private final long[] accionesPorEtapa;
+    private final long[] gananciaNeta;
+    private final int[] fichasAntes;
+    private long manosJugadas;
+    private long manosAtascadas;
+    private long accionesRechazadas;
+    private long fichasMovidas;
+    private long fichasRecompradas;
+    private long fichasDescuadradas;
+
+    public SimuladorPoker(JuegoPoker juego, ArrayList<EstrategiaBot> bots, int dineroInicial) {
+        this.juego = juego;
+        this.bots = bots;
+        this.dineroInicial = dineroInicial;
+
+        Enum<?>[] etapas = juego instanceof TexasHoldem
+                ? TexasHoldem.Etapa.values()
+                : PokerCincoCartas.EtapaJuego.values();
+        this.nombresEtapa = new String[etapas.length];
+        for (int i = 0; i < etapas.length; i++) {
+            nombresEtapa[i] = etapas[i].name();
+        }
+        this.nanosPorEtapa = new long[etapas.length];
+        this.accionesPorEtapa = new long[etapas.length];
+
+        int jugadores = juego.getJugadores().size();
+        this.gananciaNeta = new long[jugadores];
+        this.fichasAntes = new int[jugadores];
+    }
+
+    //Juega el número de manos indicado
+    public void simular(long manos) {
+        for (long mano = 0; mano < manos; mano++) {
+            recomprarJugadores();
+            tomarFichasAntes();
+
+            if (juego instanceof TexasHoldem) {
+                jugarManoTexas((TexasHoldem) juego);
+            } else {
+                jugarManoCincoCartas((PokerCincoCartas) juego);
+            }
+
+            registrarMovimientoFichas();
+            manosJugadas++;
+        }
+    }
+
+    private void jugarManoTexas(TexasHoldem texas) {
+        texas.jugarRonda();
+
+        int acciones = 0;
+        while (texas.getEstadoActual() == JuegoPoker.EstadoJuego.ESPERANDO_ACCION
+                && texas.getEtapaActual() != TexasHoldem.Etapa.SHOWDOWN) {
+            if (++acciones > MAXIMO_ACCIONES_POR_MANO) {
+                manosAtascadas++;
+                return;
+            }
+            int etapa = texas.getEtapaActual().ordinal();
+            long inicio = System.nanoTime();
+            jugarTurno();
+            nanosPorEtapa[etapa] += System.nanoTime() - inicio;
+            accionesPorEtapa[etapa]++;
+        }
+    }
+
+    private void jugarManoCincoCartas(PokerCincoCartas cinco) {
+        cinco.iniciarJuego(cinco.getJugadores().size());
+
+        int acciones = 0;
+        while (cinco.getEstadoActual() == JuegoPoker.EstadoJuego.ESPERANDO_ACCION) {
+            if (++acciones > MAXIMO_ACCIONES_POR_MANO) {
+                manosAtascadas++;
+                return;
+            }
+            PokerCincoCartas.EtapaJuego etapaJuego = cinco.getEtapaActualEnum();
+            int etapa = etapaJuego.ordinal();
+            long inicio = System.nanoTime();
+
+            if (etapaJuego == PokerCincoCartas.EtapaJuego.DESCARTE) {
+                int turno = cinco.getTurnoActual();
+                int[] posiciones = bots.get(turno).descartar(cinco, turno);
+                boolean aceptada = posiciones.length > 0 ? cinco.descartar(posiciones) : cinco.noDescartar();
+                if (!aceptada && !cinco.noDescartar()) {
+                    accionesRechazadas++;
+                    cinco.retirarse();
+                }
+            } else {
+                jugarTurno();
+            }
+
+            nanosPorEtapa[etapa] += System.nanoTime() - inicio;
+            accionesPorEtapa[etapa]++;
+        }
+    }
+
+    //Pide la acción al bot en turno; si el juego la rechaza intenta pasar,
+    //luego igualar y por último se retira
+    private void jugarTurno() {
+        int turno = juego.getTurnoActual();
+        EstrategiaBot bot = bots.get(turno);
+
+        if (ejecutar(bot.decidir(juego, turno), bot, turno)) {
+            return;
+        }
+        accionesRechazadas++;
+        if (!juego.pasar() && !juego.igualar()) {
+            juego.retirarse();
+        }
+    }
+
+    private boolean ejecutar(EstrategiaBot.Accion accion, EstrategiaBot bot, int turno) {
+        switch (accion) {
+            case PASAR:
+                return juego.pasar();
+            case APOSTAR:
+                return juego.apostar(bot.cantidad(juego, turno));
+            case IGUALAR:
+                return juego.igualar();
+            case SUBIR:
+                return juego.subir(bot.cantidad(juego, turno));
+            case RETIRARSE:
+            default:
+                return juego.retirarse();
+        }
+    }
+
+    private void recomprarJugadores() {
+        for (Jugador jugador : juego.getJugadores()) {
+            if (jugador.getFichas() <= 0) {
+                jugador.setFichas(dineroInicial);
+                fichasRecompradas += dineroInicial;
+            }
+        }
+    }
+
+    private void tomarFichasAntes() {
+        ArrayList<Jugador> jugadores = juego.getJugadores();
+        for (int i = 0; i < jugadores.size(); i++) {
+            fichasAntes[i] = jugadores.get(i).getFichas();
+        }
+    }
+
+    //Acumula las ganancias de cada jugador y revisa que no se pierdan fichas
+    private void registrarMovimientoFichas() {
+        ArrayList<Jugador> jugadores = juego.getJugadores();
+        long diferenciaTotal = 0;
+        for (int i = 0; i < jugadores.size(); i++) {
+            int diferencia = jugadores.get(i).getFichas() - fichasAntes[i];
+            gananciaNeta[i] += diferencia;
+            diferenciaTotal += diferencia;
+            if (diferencia > 0) {
+                fichasMovidas += diferencia;
+            }
+        }
+        // Lo que queda en el pozo al terminar una mano atascada también cuenta
+        diferenciaTotal += juego.getPozo();
+        fichasDescuadradas += Math.abs(diferenciaTotal);
+    }
+
+    //Imprime el reporte de la simulación
+    public void reportar(long nanosTotales) {
+        double segundos = nanosTotales / 1e9;
+        System.out.printf("Manos jugadas: %d en %.2f s (%.0f manos/s)%n",
+                manosJugadas, segundos, manosJugadas / segundos);
+        System.out.printf("Manos atascadas: %d, acciones rechazadas: %d%n", manosAtascadas, accionesRechazadas);
+
+        System.out.println("Tiempo por etapa:");
+        for (int i = 0; i < nombresEtapa.length; i++) {
+            if (accionesPorEtapa[i] > 0) {
+                System.out.printf("  %-18s %10d acciones %8.1f ns/acción %6.1f%% del tiempo%n",
+                        nombresEtapa[i], accionesPorEtapa[i],
+                        (double) nanosPorEtapa[i] / accionesPorEtapa[i],
+                        100.0 * nanosPorEtapa[i] / nanosTotales);
+            }
+        }
+
+        System.out.println("Movimiento de fichas:");
+        System.out.printf("  Fichas ganadas por mano: %.1f%n", (double) fichasMovidas / Math.max(1, manosJugadas));
+        System.out.printf("  Fichas recompradas: %d, fichas descuadradas: %d%n", fichasRecompradas, fichasDescuadradas);
+        ArrayList<Jugador> jugadores = juego.getJugadores();
+        for (int i = 0; i < jugadores.size(); i++) {
+            System.out.printf("  %-12s %-14s ganancia neta %+d%n", jugadores.get(i).getNombre(),
+                    bots.get(i).getClass().getSimpleName(), gananciaNeta[i]);
+        }
+    }
+
+    public static void main(String[] args) {
+        String variante = args.length > 0 ? args[0] : "texas";
+        long manos = args.length > 1 ? Long.parseLong(args[1]) : 100_000;
+        int jugadores = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+        long semilla = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        int dineroInicial = 1000;
+
+        JuegoPoker juego = variante.equalsIgnoreCase("cinco")
+                ? new PokerCincoCartas(jugadores, dineroInicial)
+                : new TexasHoldem(jugadores, dineroInicial);
+        SplittableRandom aleatorio = new SplittableRandom(semilla);
+        juego.setGenerador(aleatorio.split());
+
+        // La mitad de la mesa juega por fuerza de mano y la otra al azar
+        ArrayList<EstrategiaBot> bots = new ArrayList<>();
+        for (int i = 0; i < jugadores; i++) {
+            bots.add(i % 2 == 0 ? new BotPorFuerza() : new BotAleatorio(aleatorio.split()));
+        }
+
+        System.out.println("Simulando " + manos + " manos de " + variante + " con "
+                + jugadores + " jugadores (semilla " + semilla + ")");
+        SimuladorPoker simulador = new SimuladorPoker(juego, bots, dineroInicial);
+        long inicio = System.nanoTime();
+        simulador.simular(manos);
+        simulador.reportar(System.nanoTime() - inicio);
+    }
+}
@@ -0,0 +1,153 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Tabla precalculada de equidad antes del flop.
+ * Guarda la equidad de cada una de las 169 clases de mano inicial (pares,
+ * suited y offsuit) contra 1 a 8 rivales con cartas al azar, es decir, para
+ * mesas de 2 a 9 jugadores. El archivo lo genera GeneradorTablaPreflop y aquí
+ * se abre mapeado en memoria, así que cada consulta es una lectura directa.
+ *
+ * Formato del archivo (big endian):
+ *   int magia, int versión, int simulaciones por entrada, int reservado, long semilla
+ *   byte[ENTRADAS] marca de entrada completa (1) o pendiente (0)
+ *   float[ENTRADAS] equidad de la entrada, entre 0 y 1
+ */
+public class TablaPreflop {
+    public static final String ARCHIVO_PREDETERMINADO = "preflop.tabla";
+
+    public static final int CLASES = 169;
+    public static final int MINIMO_JUGADORES = 2;
+    public static final int MAXIMO_JUGADORES = 9;
+    static final int ENTRADAS = CLASES * (MAXIMO_JUGADORES - MINIMO_JUGADORES + 1);
+
+    static final int MAGIA = 0x50464551; // "PFEQ"
+    static final int VERSION = 1;
+    static final int POSICION_SIMULACIONES = 8;
+    static final int POSICION_SEMILLA = 16;
+    static final int POSICION_COMPLETAS = 24;
+    static final int POSICION_EQUIDADES = POSICION_COMPLETAS + ENTRADAS;
+    static final int TAMANO_ARCHIVO = POSICION_EQUIDADES + 4 * ENTRADAS;
+
+    private static final String[] VALORES = {"2", "3", "4", "5", "6", "7", "8", "9", "T", "J", "Q", "K", "A"};
+
+    // Tabla del archivo predeterminado, cargada la primera vez que se pide
+    private static TablaPreflop predeterminada;
+    private static boolean predeterminadaBuscada;
+
+    private final ByteBuffer buffer;
+
+    private TablaPreflop(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    //Abre una tabla en modo lectura, mapeada en memoria
+    public static TablaPreflop cargar(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            if (canal.size() != TAMANO_ARCHIVO) {
+                throw new IOException("El archivo " + archivo + " no tiene el tamaño de una tabla preflop.");
+            }
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, TAMANO_ARCHIVO);
+            validarEncabezado(buffer, archivo);
+            return new TablaPreflop(buffer);
+        }
+    }
+
+    //Tabla del archivo indicado por la propiedad poker.tablaPreflop, o preflop.tabla en el
+    //directorio de trabajo; null si no existe o no se puede leer
+    public static synchronized TablaPreflop obtenerPredeterminada() {
+        if (!predeterminadaBuscada) {
+            predeterminadaBuscada = true;
+            Path archivo = Path.of(System.getProperty("poker.tablaPreflop", ARCHIVO_PREDETERMINADO));
+            if (Files.exists(archivo)) {
+                try {
+                    predeterminada = cargar(archivo);
+                } catch (IOException e) {
+                    System.err.println("No se pudo cargar la tabla preflop: " + e.getMessage());
+                }
+            }
+        }
+        return predeterminada;
+    }
+
+    static void validarEncabezado(ByteBuffer buffer, Path archivo) throws IOException {
+        if (buffer.getInt(0) != MAGIA || buffer.getInt(4) != VERSION) {
+            throw new IOException("El archivo " + archivo + " no es una tabla preflop de la versión " + VERSION + ".");
+        }
+    }
+
+    //Equidad de la clase contra rivales al azar en una mesa de ese número de jugadores,
+    //o NaN si esa entrada todavía no se calculó
+    public float getEquidad(int clase, int jugadores) {
+        int entrada = indiceEntrada(clase, jugadores);
+        if (buffer.get(POSICION_COMPLETAS + entrada) == 0) {
+            return Float.NaN;
+        }
+        return buffer.getFloat(POSICION_EQUIDADES + 4 * entrada);
+    }
+
+    public float getEquidad(Carta primera, Carta segunda, int jugadores) {
+        return getEquidad(indiceClase(primera, segunda), jugadores);
+    }
+
+    //Indica si todas las entradas están calculadas
+    public boolean estaCompleta() {
+        for (int i = 0; i < ENTRADAS; i++) {
+            if (buffer.get(POSICION_COMPLETAS + i) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getSimulaciones() {
+        return buffer.getInt(POSICION_SIMULACIONES);
+    }
+
+    //Posición de una entrada: las 169 clases de cada número de jugadores van juntas
+    static int indiceEntrada(int clase, int jugadores) {
+        if (clase < 0 || clase >= CLASES || jugadores < MINIMO_JUGADORES || jugadores > MAXIMO_JUGADORES) {
+            throw new IllegalArgumentException("Entrada fuera de la tabla: clase " + clase + ", " + jugadores + " jugadores.");
+        }
+        return (jugadores - MINIMO_JUGADORES) * CLASES + clase;
+    }
+
+    //Clase de mano inicial en la cuadrícula de 13x13: los pares en la diagonal,
+    //las suited con la carta alta como fila y las offsuit con la carta baja como fila
+    public static int indiceClase(Carta primera, Carta segunda) {
+        int alta = Math.max(primera.getValor(), segunda.getValor()) - 2;
+        int baja = Math.min(primera.getValor(), segunda.getValor()) - 2;
+        if (primera.getPalo() == segunda.getPalo()) {
+            return alta * 13 + baja;
+        }
+        return baja * 13 + alta;
+    }
+
+    //Dos cartas que representan la clase: mismo palo si es suited, palos distintos si no
+    static Carta[] representante(int clase) {
+        int fila = clase / 13;
+        int columna = clase % 13;
+        if (fila > columna) {
+            return new Carta[]{Carta.obtener(fila + 2, Carta.CORAZONES), Carta.obtener(columna + 2, Carta.CORAZONES)};
+        }
+        return new Carta[]{Carta.obtener(columna + 2, Carta.CORAZONES), Carta.obtener(fila + 2, Carta.DIAMANTES)};
+    }
+
+    //Nombre corto de la clase, por ejemplo "AA", "AKs" o "72o"
+    public static String nombreClase(int clase) {
+        int fila = clase / 13;
+        int columna = clase % 13;
+        if (fila == columna) {
+            return VALORES[fila] + VALORES[fila];
+        }
+        if (fila > columna) {
+            return VALORES[fila] + VALORES[columna] + "s";
+        }
+        return VALORES[columna] + VALORES[fila] + "o";
+    }
+}
@@ -1,5 +1,5 @@
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -39,6 +39,15 @@ public class TexasHoldem extends JuegoPoker{
     // Indica si algún jugador ha realizado una acción en esta ronda
     private boolean accionRealizadaEnRonda;
 
+    // Evaluación de la mano de cada jugador, actualizada en cada calle
+    private EvaluacionIncremental[] evaluaciones;
+
+    // Se crea la primera vez que se pide la equidad de la mesa
+    private CalculadoraEquidad calculadoraEquidad;
+
+    // Simulaciones para la equidad contra rivales al azar que no está en la tabla ni en la caché
+    private static final int SIMULACIONES_EQUIDAD = 20_000;
+
     //Constructor que recibe número de jugadores y dinero inicial
     public TexasHoldem(int numeroDeJugadores, int dineroInicial) {
         super(numeroDeJugadores, dineroInicial);
@@ -61,15 +70,18 @@ public class TexasHoldem extends JuegoPoker{
 
     @Override
     protected void repartirCartas() {
-        // Barajar el mazo
-        mazo = new Mazo();
-        mazo.barajear();
+        // Recoger el mazo de la mesa y barajar solo las cartas que usará la mano:
+        // 2 por jugador, 5 comunitarias y 3 quemadas
+        iniciarGeneradorMano();
+        mazo.reiniciar();
+        mazo.barajear(2 * numeroDeJugadores + 8);
 
         // Limpiar estado
         cartasComunitarias.clear();
-        apuestasAcumuladas.clear();
+        libroApuestas.reiniciar();
         rondaApuestasCompleta = false;
         accionRealizadaEnRonda = false;
+        rondaTerminada = false;
 
         // Limpiar estado de los jugadores
         for (Jugador jugador : jugadores) {
@@ -83,10 +95,13 @@ public class TexasHoldem extends JuegoPoker{
         establecerPosiciones();
 
         // Repartir 2 cartas a cada jugador
-        for (Jugador jugador : jugadores) {
+        prepararEvaluaciones();
+        for (int i = 0; i < jugadores.size(); i++) {
+            Jugador jugador = jugadores.get(i);
             if (jugador.estaActivo()) {
                 ArrayList<Carta> cartasJugador = mazo.sacarNCartas(2);
                 jugador.recibirCartas(cartasJugador);
+                evaluaciones[i].agregarCartas(cartasJugador);
             }
         }
 
@@ -171,24 +186,24 @@ public class TexasHoldem extends JuegoPoker{
         Jugador jugadorSmallBlind = jugadores.get(posicionSmallBlind);
         int smallBlindActual = Math.min(smallBlindValue, jugadorSmallBlind.getFichas());
         jugadorSmallBlind.restarFichas(smallBlindActual);
-        apuestasAcumuladas.put(jugadorSmallBlind, smallBlindActual);
+        libroApuestas.aportar(posicionSmallBlind, smallBlindActual);
 
         // Big Blind
         Jugador jugadorBigBlind = jugadores.get(posicionBigBlind);
         int bigBlindActual = Math.min(bigBlindValue, jugadorBigBlind.getFichas());
         jugadorBigBlind.restarFichas(bigBlindActual);
-        apuestasAcumuladas.put(jugadorBigBlind, bigBlindActual);
+        libroApuestas.aportar(posicionBigBlind, bigBlindActual);
 
         // Actualizar pozo y apuesta actual
         pozo = smallBlindActual + bigBlindActual;
         apuestaActual = bigBlindActual;
 
         // Verificar si algún jugador quedó all-in con las ciegas
-        if (smallBlindActual == jugadorSmallBlind.getFichas()) {
-            jugadorSmallBlind.setAllIn(true);
+        if (jugadorSmallBlind.getFichas() == 0) {
+            ponerAllIn(posicionSmallBlind);
         }
-        if (bigBlindActual == jugadorBigBlind.getFichas()) {
-            jugadorBigBlind.setAllIn(true);
+        if (jugadorBigBlind.getFichas() == 0) {
+            ponerAllIn(posicionBigBlind);
         }
 
         // Definir el último jugador que "subió" como el big blind
@@ -210,8 +225,10 @@ public class TexasHoldem extends JuegoPoker{
         switch (etapaActual) {
             case PRE_FLOP:
                 // Quemar una carta y repartir el flop (3 cartas)
-                mazo.sacarNCartas(1); // Quemar carta
-                cartasComunitarias.addAll(mazo.sacarNCartas(3));
+                mazo.quemarCarta();
+                for (int i = 0; i < 3; i++) {
+                    agregarCartaComunitaria(mazo.sacarCarta());
+                }
                 etapaActual = Etapa.FLOP;
                 mensajeEstado = "Flop repartido: " + mostrarCartasComunitarias();
                 iniciarNuevaRondaApuestas();
@@ -219,8 +236,8 @@ public class TexasHoldem extends JuegoPoker{
 
             case FLOP:
                 // Quemar una carta y repartir el turn (4ta carta)
-                mazo.sacarNCartas(1); // Quemar carta
-                cartasComunitarias.add(mazo.sacarNCartas(1).get(0));
+                mazo.quemarCarta();
+                agregarCartaComunitaria(mazo.sacarCarta());
                 etapaActual = Etapa.TURN;
                 mensajeEstado = "Turn repartido: " + mostrarCartasComunitarias();
                 iniciarNuevaRondaApuestas();
@@ -228,8 +245,8 @@ public class TexasHoldem extends JuegoPoker{
 
             case TURN:
                 // Quemar una carta y repartir el river (5ta carta)
-                mazo.sacarNCartas(1); // Quemar carta
-                cartasComunitarias.add(mazo.sacarNCartas(1).get(0));
+                mazo.quemarCarta();
+                agregarCartaComunitaria(mazo.sacarCarta());
                 etapaActual = Etapa.RIVER;
                 mensajeEstado = "River repartido: " + mostrarCartasComunitarias();
                 iniciarNuevaRondaApuestas();
@@ -252,10 +269,34 @@ public class TexasHoldem extends JuegoPoker{
         }
     }
 
+    //Prepara un estado de evaluación vacío por jugador para la nueva mano
+    private void prepararEvaluaciones() {
+        if (evaluaciones == null || evaluaciones.length != jugadores.size()) {
+            evaluaciones = new EvaluacionIncremental[jugadores.size()];
+            for (int i = 0; i < evaluaciones.length; i++) {
+                evaluaciones[i] = new EvaluacionIncremental();
+            }
+        }
+        for (EvaluacionIncremental evaluacion : evaluaciones) {
+            evaluacion.reiniciar();
+        }
+    }
+
+    //Agrega una carta comunitaria y la suma a la evaluación de cada jugador con cartas
+    private void agregarCartaComunitaria(Carta carta) {
+        cartasComunitarias.add(carta);
+        for (int i = 0; i < jugadores.size(); i++) {
+            if (jugadores.get(i).getMano() != null) {
+                evaluaciones[i].agregarCarta(carta);
+            }
+        }
+    }
+
     //Inicia una nueva ronda de apuestas después de avanzar de etapa
     private void iniciarNuevaRondaApuestas() {
         // Resetear la apuesta actual
         apuestaActual = 0;
+        libroApuestas.nuevaRonda();
         rondaApuestasCompleta = false;
         accionRealizadaEnRonda = false;
         ultimoJugadorQueSubio = -1;
@@ -286,20 +327,25 @@ public class TexasHoldem extends JuegoPoker{
 
     //Determina si el jugador actual es el último que debe actuar
     private boolean esUltimoEnActuar() {
+        // Si el big blind o el dealer ya se retiraron, cierra la ronda el jugador
+        // activo más cercano antes de su asiento
+        int ultimoBigBlind = obtenerJugadorAnteriorActivo((posicionBigBlind + 1) % numeroDeJugadores);
+        int ultimoDealer = obtenerJugadorAnteriorActivo((posicionDealer + 1) % numeroDeJugadores);
+
         // Si no ha habido acción en esta ronda, el último es el big blind
         if (!accionRealizadaEnRonda && etapaActual == Etapa.PRE_FLOP) {
-            return turnoActual == posicionBigBlind;
+            return turnoActual == ultimoBigBlind;
         }
 
         // Si nadie ha subido, el último jugador es el que está antes del dealer
         if (ultimoJugadorQueSubio == -1) {
             // En rondas posteriores al preflop, el último jugador será el dealer
             if (etapaActual != Etapa.PRE_FLOP) {
-                return turnoActual == posicionDealer;
+                return turnoActual == ultimoDealer;
             }
 
             // En preflop, si nadie ha subido, el último jugador es el big blind
-            return turnoActual == posicionBigBlind;
+            return turnoActual == ultimoBigBlind;
         }
 
         // Si alguien subió, el último jugador es el último jugador activo antes del que subió
@@ -346,141 +392,169 @@ public class TexasHoldem extends JuegoPoker{
         repartirCartas();
     }
 
-    @Override
-    public int determinarGanador() {
-        int mejorIndice = -1;
-        int mejorValor = -1;
-
-        // Si solo hay un jugador activo, es el ganador
-        int jugadoresElegibles = 0;
-        for (int i = 0; i < jugadores.size(); i++) {
-            if (jugadores.get(i).estaActivo() || jugadores.get(i).isAllIn()) {
-                jugadoresElegibles++;
-                mejorIndice = i;
-            }
+    /**
+     * Encuentra la mejor mano de 5 cartas entre las 7 disponibles
+     */
+    public Mano encontrarMejorMano(ArrayList<Carta> cartas) {
+        // Si no hay más de 5 cartas la mano es la misma
+        if (cartas.size() <= 5) {
+            return new Mano(cartas);
         }
 
-        if (jugadoresElegibles == 1) {
-            return mejorIndice;
-        }
+        int valorMano = evaluarMejorMano(cartas);
+        return new Mano(EvaluadorSieteCartas.mejoresCinco(cartas, valorMano));
+    }
 
-        // Evaluamos la mejor mano para cada jugador
-        for (int i = 0; i < jugadores.size(); i++) {
-            Jugador jugador = jugadores.get(i);
-            if (jugador.estaActivo() || jugador.isAllIn()) {
-                // Combinamos las cartas del jugador con las comunitarias
-                ArrayList<Carta> todasLasCartas = new ArrayList<>(jugador.getMano().getMano());
-                todasLasCartas.addAll(cartasComunitarias);
-
-                // Encontrar la mejor mano posible
-                Mano mejorMano = encontrarMejorMano(todasLasCartas);
-                jugador.setMano(mejorMano);
-
-                int valorMano = evaluarMano(mejorMano);
-
-                if (valorMano > mejorValor) {
-                    mejorValor = valorMano;
-                    mejorIndice = i;
-                } else if (valorMano == mejorValor && mejorIndice != -1) {
-                    // Desempatar por cartas altas
-                    Mano manoActual = jugador.getMano();
-                    Mano mejorManoActual = jugadores.get(mejorIndice).getMano();
-
-                    if (desempatar(manoActual, mejorManoActual) > 0) {
-                        mejorIndice = i;
-                    }
-                }
-            }
+    //Usa el estado incremental del jugador (cartas privadas + comunitarias)
+    @Override
+    protected int evaluarClaveJugador(int indiceJugador) {
+        if (evaluaciones == null || jugadores.get(indiceJugador).getMano() == null) {
+            return -1;
         }
+        return evaluaciones[indiceJugador].getValor();
+    }
 
-        return mejorIndice;
+    //Clave de la mano que tiene ahora el jugador, o -1 si no tiene cartas
+    public int obtenerValorManoActual(int indiceJugador) {
+        return evaluarClaveJugador(indiceJugador);
     }
 
-    /**
-     * Encuentra la mejor mano de 5 cartas entre las 7 disponibles
-     */
-    public Mano encontrarMejorMano(ArrayList<Carta> cartas) {
-        // Si no hay suficientes cartas
-        if (cartas.size() < 5) {
-            return new Mano(new ArrayList<>(cartas));
-        }
+    //Nombre de la mano que tiene ahora el jugador, o cadena vacía si no tiene cartas
+    public String obtenerNombreManoActual(int indiceJugador) {
+        int valorMano = obtenerValorManoActual(indiceJugador);
+        return valorMano < 0 ? "" : EvaluadorManos.nombreCategoria(valorMano);
+    }
 
-        // Si hay exactamente 5 cartas
-        if (cartas.size() == 5) {
-            return new Mano(new ArrayList<>(cartas));
-        }
+    //Equidad de los jugadores que siguen en la mano con las cartas comunitarias actuales,
+    //estimada con el número de simulaciones dado; el resultado va por asiento y los
+    //retirados, cuyas cartas ya no pueden salir en la mesa, pierden siempre
+    public ResultadoEquidad calcularEquidad(int simulaciones) {
+        return calcularEquidad(simulaciones, false);
+    }
 
-        // Generar todas las combinaciones posibles de 5 cartas
-        List<List<Carta>> combinaciones = generarCombinaciones(cartas, 5);
+    //Igual que calcularEquidad pero recorriendo todas las mesas posibles; pensada
+    //para el turn y el river, donde quedan pocas
+    public ResultadoEquidad calcularEquidadExacta() {
+        return calcularEquidad(0, true);
+    }
 
-        // Evaluar cada combinación
-        Mano mejorMano = null;
-        int mejorValor = -1;
+    //Clave canónica (IndiceCanonico) de las cartas del jugador con la mesa actual;
+    //situaciones iguales salvo por los palos dan la misma clave, -1 si no tiene cartas
+    public long obtenerClaveCanonica(int indiceJugador) {
+        Mano mano = jugadores.get(indiceJugador).getMano();
+        if (mano == null || mano.getMano().size() != 2) {
+            return -1;
+        }
+        return IndiceCanonico.clave(mano.getConjunto(), getConjuntoComunitarias());
+    }
 
-        for (List<Carta> combo : combinaciones) {
-            Mano manoActual = new Mano(new ArrayList<>(combo));
-            int valorActual = evaluarMano(manoActual);
+    //Equidad del jugador antes del flop contra rivales al azar. Sale de la tabla
+    //precalculada en O(1) si existe y cubre la mesa; si no, se estima por Monte Carlo.
+    //Es 0 si el jugador ya no está en la mano
+    public double obtenerEquidadPreflop(int indiceJugador) {
+        Jugador jugador = jugadores.get(indiceJugador);
+        if (!sigueEnMano(jugador)) {
+            return 0;
+        }
 
-            if (valorActual > mejorValor) {
-                mejorValor = valorActual;
-                mejorMano = manoActual;
-            } else if (valorActual == mejorValor && mejorMano != null) {
-                // Desempatar por cartas altas
-                if (desempatar(manoActual, mejorMano) > 0) {
-                    mejorMano = manoActual;
-                }
+        int enMano = contarRivales(indiceJugador) + 1;
+        TablaPreflop tabla = TablaPreflop.obtenerPredeterminada();
+        List<Carta> cartas = jugador.getMano().getMano();
+        if (tabla != null && enMano >= TablaPreflop.MINIMO_JUGADORES && enMano <= TablaPreflop.MAXIMO_JUGADORES) {
+            float equidad = tabla.getEquidad(cartas.get(0), cartas.get(1), enMano);
+            if (!Float.isNaN(equidad)) {
+                return equidad;
             }
         }
-
-        return mejorMano;
+        return equidadContraAleatorios(cartas, List.of(), enMano - 1);
     }
 
-    //Genera todas las combinaciones posibles de r elementos de la lista
-    private List<List<Carta>> generarCombinaciones(List<Carta> lista, int r) {
-        List<List<Carta>> combinaciones = new ArrayList<>();
-        generarCombinacionesRecursivo(lista, r, 0, new ArrayList<>(), combinaciones);
-        return combinaciones;
+    //Equidad del jugador con la mesa actual contra los demás jugadores en la mano,
+    //tomando sus cartas como desconocidas. Es 0 si el jugador ya no está en la mano
+    public double obtenerEquidadContraAleatorios(int indiceJugador) {
+        Jugador jugador = jugadores.get(indiceJugador);
+        if (!sigueEnMano(jugador)) {
+            return 0;
+        }
+        return equidadContraAleatorios(jugador.getMano().getMano(), cartasComunitarias, contarRivales(indiceJugador));
     }
 
-    //Método recursivo para generar combinaciones
-    private void generarCombinacionesRecursivo(List<Carta> lista, int r, int inicio,
-                                               List<Carta> combinacionActual,
-                                               List<List<Carta>> resultado) {
-        // Si la combinación actual tiene el tamaño deseado
-        if (combinacionActual.size() == r) {
-            resultado.add(new ArrayList<>(combinacionActual));
-            return;
+    //Monte Carlo guardado en CacheEquidad por situación canónica, así que cada clase de
+    //situación se simula una sola vez aunque cambien los palos o la sesión
+    private double equidadContraAleatorios(List<Carta> cartas, List<Carta> mesa, int rivales) {
+        if (rivales < 1) {
+            return 1;
+        }
+        CacheEquidad cache = CacheEquidad.obtenerPredeterminada();
+        long clave = IndiceCanonico.clave(cartas, mesa);
+        if (cache != null) {
+            float guardada = cache.buscar(clave, rivales);
+            if (!Float.isNaN(guardada)) {
+                return guardada;
+            }
         }
 
-        // Recorrer los elementos disponibles
-        for (int i = inicio; i < lista.size(); i++) {
-            combinacionActual.add(lista.get(i));
+        ArrayList<List<Carta>> manos = new ArrayList<>();
+        manos.add(cartas);
+        for (int i = 0; i < rivales; i++) {
+            manos.add(null);
+        }
+        if (calculadoraEquidad == null) {
+            calculadoraEquidad = new CalculadoraEquidad(generadorEquidad.nextLong());
+        }
+        double equidad = calculadoraEquidad.calcular(manos, mesa, SIMULACIONES_EQUIDAD).getEquidad(0);
+        if (cache != null) {
+            cache.guardar(clave, rivales, (float) equidad);
+        }
+        return equidad;
+    }
 
-            generarCombinacionesRecursivo(lista, r, i + 1, combinacionActual, resultado);
+    //El jugador sigue en la mano (activo o all-in) y tiene cartas
+    private boolean sigueEnMano(Jugador jugador) {
+        return jugador.getMano() != null && (jugador.estaActivo() || jugador.isAllIn());
+    }
 
-            // Eliminar el último elemento para probar con el siguiente
-            combinacionActual.remove(combinacionActual.size() - 1);
+    //Los demás jugadores que siguen en la mano
+    private int contarRivales(int indiceJugador) {
+        int rivales = 0;
+        for (int i = 0; i < jugadores.size(); i++) {
+            if (i != indiceJugador && sigueEnMano(jugadores.get(i))) {
+                rivales++;
+            }
         }
+        return rivales;
     }
 
-    //Compara dos manos para desempate
-    private int desempatar(Mano mano1, Mano mano2) {
-        ArrayList<Carta> cartas1 = mano1.getMano();
-        ArrayList<Carta> cartas2 = mano2.getMano();
-
-        // Ordenar por valor descendente
-        cartas1.sort(Comparator.comparing(Carta::getValor).reversed());
-        cartas2.sort(Comparator.comparing(Carta::getValor).reversed());
+    private ResultadoEquidad calcularEquidad(int simulaciones, boolean exacta) {
+        if (calculadoraEquidad == null) {
+            calculadoraEquidad = new CalculadoraEquidad(generadorEquidad.nextLong());
+        }
 
-        // Comparar cada carta
-        for (int i = 0; i < Math.min(cartas1.size(), cartas2.size()); i++) {
-            int comp = Integer.compare(cartas1.get(i).getValor(), cartas2.get(i).getValor());
-            if (comp != 0) {
-                return comp;
+        ArrayList<List<Carta>> manos = new ArrayList<>();
+        ArrayList<Carta> muertas = new ArrayList<>();
+        int[] asientos = new int[jugadores.size()];
+        for (int i = 0; i < jugadores.size(); i++) {
+            Jugador jugador = jugadores.get(i);
+            if (jugador.getMano() == null) {
+                continue;
+            }
+            if (jugador.estaActivo() || jugador.isAllIn()) {
+                asientos[manos.size()] = i;
+                manos.add(jugador.getMano().getMano());
+            } else {
+                muertas.addAll(jugador.getMano().getMano());
             }
         }
 
-        return 0;
+        ResultadoEquidad resultado = exacta
+                ? calculadoraEquidad.calcularExacto(manos, cartasComunitarias, muertas)
+                : calculadoraEquidad.calcular(manos, cartasComunitarias, muertas, simulaciones);
+        return resultado.enAsientos(Arrays.copyOf(asientos, manos.size()), jugadores.size());
+    }
+
+    //Devuelve la clave de la mejor mano de 5 cartas sin generar las combinaciones
+    public int evaluarMejorMano(List<Carta> cartas) {
+        return EvaluadorSieteCartas.evaluar(cartas);
     }
 
     @Override
@@ -542,6 +616,7 @@ public class TexasHoldem extends JuegoPoker{
         for (int i = 0; i < numJugadores; i++) {
             jugadores.add(new Jugador("Jugador " + (i + 1), dineroInicial));
         }
+        libroApuestas = new LibroApuestas(numJugadores);
         pozo = 0;
         apuestaActual = 0;
         rondaTerminada = false;
@@ -600,8 +675,7 @@ public class TexasHoldem extends JuegoPoker{
         pozo += cantidadFinal;
 
         // Actualizar apuesta acumulada
-        int apuestaAnterior = apuestasAcumuladas.getOrDefault(jugadorActual, 0);
-        apuestasAcumuladas.put(jugadorActual, apuestaAnterior + cantidadFinal);
+        libroApuestas.aportar(turnoActual, cantidadFinal);
 
         // Actualizar apuesta actual y últimos datos
         apuestaActual = cantidadFinal;
@@ -610,9 +684,10 @@ public class TexasHoldem extends JuegoPoker{
         accionRealizadaEnRonda = true;
 
         // Mensaje según el tipo de apuesta
-        if (cantidadFinal < cantidad) {
+        // Quien se queda sin fichas está all-in aunque haya cubierto la cantidad exacta
+        if (cantidadFinal < cantidad || jugadorActual.getFichas() == 0) {
             // Caso all-in
-            jugadorActual.setAllIn(true);
+            ponerAllIn(turnoActual);
             mensajeEstado = jugadorActual.getNombre() + " va ALL-IN con " + cantidadFinal + " fichas!";
         } else {
             mensajeEstado = jugadorActual.getNombre() + " apuesta " + cantidadFinal + " fichas.";
@@ -629,8 +704,8 @@ public class TexasHoldem extends JuegoPoker{
         }
         Jugador jugadorActual = jugadores.get(turnoActual);
 
-        // Cuánto debe igualar
-        int apuestaJugador = apuestasAcumuladas.getOrDefault(jugadorActual, 0);
+        // Cuánto debe igualar en esta calle
+        int apuestaJugador = libroApuestas.getEnRonda(turnoActual);
         int cantidadAIgualar = apuestaActual - apuestaJugador;
 
         // Si ya ha igualado
@@ -647,12 +722,13 @@ public class TexasHoldem extends JuegoPoker{
         pozo += cantidadFinal;
 
         // Actualizar apuesta acumulada
-        apuestasAcumuladas.put(jugadorActual, apuestaJugador + cantidadFinal);
+        libroApuestas.aportar(turnoActual, cantidadFinal);
         accionRealizadaEnRonda = true;
 
         // Mensaje según el caso
-        if (cantidadFinal < cantidadAIgualar) {
-            jugadorActual.setAllIn(true);
+        // Quien se queda sin fichas está all-in aunque haya cubierto la cantidad exacta
+        if (cantidadFinal < cantidadAIgualar || jugadorActual.getFichas() == 0) {
+            ponerAllIn(turnoActual);
             mensajeEstado = jugadorActual.getNombre() + " va ALL-IN con " + cantidadFinal + " fichas!";
         } else {
             mensajeEstado = jugadorActual.getNombre() + " iguala la apuesta de " + apuestaActual + " fichas.";
@@ -691,8 +767,8 @@ public class TexasHoldem extends JuegoPoker{
             return false;
         }
 
-        // Calcular cuánto debe igualar primero
-        int apuestaJugador = apuestasAcumuladas.getOrDefault(jugadorActual, 0);
+        // Calcular cuánto debe igualar primero en esta calle
+        int apuestaJugador = libroApuestas.getEnRonda(turnoActual);
         int cantidadAIgualar = apuestaActual - apuestaJugador;
 
         // La cantidad total a apostar es lo que le falta para igualar + el incremento
@@ -706,7 +782,7 @@ public class TexasHoldem extends JuegoPoker{
         pozo += cantidadFinal;
 
         // Actualizar apuestas acumuladas
-        apuestasAcumuladas.put(jugadorActual, apuestaJugador + cantidadFinal);
+        libroApuestas.aportar(turnoActual, cantidadFinal);
 
         // Calcular nueva apuesta total
         int nuevaApuestaTotal = apuestaJugador + cantidadFinal;
@@ -721,8 +797,9 @@ public class TexasHoldem extends JuegoPoker{
         accionRealizadaEnRonda = true;
 
         // Mensaje según el caso
-        if (cantidadFinal < cantidadTotal) {
-            jugadorActual.setAllIn(true);
+        // Quien se queda sin fichas está all-in aunque haya cubierto la cantidad exacta
+        if (cantidadFinal < cantidadTotal || jugadorActual.getFichas() == 0) {
+            ponerAllIn(turnoActual);
             mensajeEstado = jugadorActual.getNombre() + " va ALL-IN con " + cantidadFinal + " fichas!";
         } else {
             mensajeEstado = jugadorActual.getNombre() + " sube la apuesta a " + nuevaApuestaTotal + " fichas.";
@@ -858,6 +935,10 @@ public class TexasHoldem extends JuegoPoker{
         return cartasComunitarias;
     }
 
+    public ConjuntoCartas getConjuntoComunitarias() {
+        return ConjuntoCartas.de(cartasComunitarias);
+    }
+
     public Etapa getEtapaActual() {
         return etapaActual;
     }
@@ -473,6 +473,10 @@ public class VentanaPoker extends JFrame {
 
     //Método main para iniciar la aplicación
     public static void main(String[] args) {
+        // Cargar las imágenes de las cartas en segundo plano mientras se abre el menú
+        ImagenesCartas.precargar();
+        // Abrir la tabla de equidad preflop si existe (solo la mapea, no la lee)
+        TablaPreflop.obtenerPredeterminada();
         new VentanaPoker().setVisible(true);
     }
 }
\ No newline at end of file
@@ -0,0 +1,395 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Verificación diferencial de los evaluadores rápidos.
+ * Genera millones de manos de 5 a 7 cartas en paralelo, al azar y de casos
+ * límite (escalera baja A-2-3-4-5, color y escalera a la vez, full house, dos
+ * pares), y compara la clave de cada una por dos caminos:
+ *
+ *   referencia: la categoría de los predicados de Mano (esEscaleraReal,
+ *   esPoker, hayFullHouse...) en el orden del evaluarMano original, con el
+ *   desempate por grupos de mayor a menor (primero la tercia o los pares, luego
+ *   las sueltas; la escalera A-2-3-4-5 vale como 5); con más de 5 cartas, la
+ *   mejor de todas las combinaciones de 5.
+ *
+ *   rápido: EvaluadorManos, EvaluadorSieteCartas, EvaluacionIncremental y la
+ *   mejor mano que reconstruye mejoresCinco.
+ *
+ * Ante la primera diferencia (la de menor número de mano, para que sea
+ * reproducible con la misma semilla) quita cartas mientras la diferencia se
+ * mantenga e imprime la mano mínima lista para pegar en código.
+ *
+ * Uso: java VerificadorEvaluador [manos] [semilla]
+ */
+public class VerificadorEvaluador {
+    private static final int MANOS_POR_BLOQUE = 1 << 16;
+
+    // Tipos de mano que se generan, en turno según el número de mano
+    private enum Caso {
+        ALEATORIA_5, ALEATORIA_6, ALEATORIA_7, ESCALERA_BAJA, COLOR_Y_ESCALERA, FULL_HOUSE, DOS_PARES
+    }
+
+    private static final Caso[] CASOS = Caso.values();
+
+    private final long manos;
+    private final long semilla;
+    private final AtomicLongArray generadasPorCaso = new AtomicLongArray(CASOS.length);
+
+    // Primera diferencia encontrada (menor número de mano). El índice es volátil para que
+    // los hilos lo lean sin monitor en cada mano; solo se escribe en registrarDiferencia
+    private volatile long indiceDiferencia = Long.MAX_VALUE;
+    private List<Carta> manoDiferencia;
+    private String caminoDiferencia;
+
+    public VerificadorEvaluador(long manos, long semilla) {
+        this.manos = manos;
+        this.semilla = semilla;
+    }
+
+    public static void main(String[] args) {
+        long manos = args.length > 0 ? Long.parseLong(args[0]) : 20_000_000L;
+        long semilla = args.length > 1 ? Long.parseLong(args[1]) : 20240601L;
+        if (!new VerificadorEvaluador(manos, semilla).verificar()) {
+            System.exit(1);
+        }
+    }
+
+    //Compara todas las manos y reporta; devuelve true si no hubo diferencias
+    public boolean verificar() {
+        long bloques = (manos + MANOS_POR_BLOQUE - 1) / MANOS_POR_BLOQUE;
+        System.out.println("Verificando " + String.format("%,d", manos) + " manos con "
+                + ForkJoinPool.commonPool().getParallelism() + " hilos (semilla " + semilla + ")");
+
+        long inicio = System.nanoTime();
+        ForkJoinPool.commonPool().invoke(new TareaVerificacion(0, bloques));
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        long total = 0;
+        for (int i = 0; i < CASOS.length; i++) {
+            System.out.printf("  %-18s %,14d%n", CASOS[i], generadasPorCaso.get(i));
+            total += generadasPorCaso.get(i);
+        }
+        System.out.printf("  %.2f s, %,.0f manos/s%n", segundos, total / segundos);
+
+        if (manoDiferencia == null) {
+            System.out.println("Sin diferencias entre la referencia y los evaluadores rápidos.");
+            return true;
+        }
+        List<Carta> minima = reducir(manoDiferencia);
+        System.out.println("DIFERENCIA en la mano #" + indiceDiferencia + " (" + caminoDiferencia + "): " + manoDiferencia);
+        System.out.println("Mano mínima que la reproduce: " + minima);
+        System.out.println("  referencia: " + describir(claveReferencia(minima)));
+        System.out.println("  " + primeraDiferencia(minima) + ": " + describir(claveRapida(minima, primeraDiferencia(minima))));
+        System.out.println("  List.of(" + comoCodigo(minima) + ")");
+        return false;
+    }
+
+    /**
+     * Verifica los bloques de manos [desde, hasta). Cada bloque tiene su propio
+     * generador, derivado solo de la semilla y del número de bloque, así que el
+     * resultado no depende de cómo se repartan los bloques entre hilos.
+     */
+    private class TareaVerificacion extends RecursiveAction {
+        private final long desde;
+        private final long hasta;
+
+        TareaVerificacion(long desde, long hasta) {
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde > 1) {
+                long mitad = (desde + hasta) >>> 1;
+                invokeAll(new TareaVerificacion(desde, mitad), new TareaVerificacion(mitad, hasta));
+                return;
+            }
+            long primera = desde * MANOS_POR_BLOQUE;
+            long ultima = Math.min(manos, primera + MANOS_POR_BLOQUE);
+            SplittableRandom generador = new SplittableRandom(semilla + 0x9E3779B97F4A7C15L * (desde + 1));
+            long[] conteo = new long[CASOS.length];
+            ArrayList<Carta> cartas = new ArrayList<>(7);
+
+            for (long indice = primera; indice < ultima; indice++) {
+                // Una diferencia anterior ya encontrada hace innecesario seguir este bloque
+                if (indice > indiceDiferencia) {
+                    break;
+                }
+                Caso caso = CASOS[(int) (indice % CASOS.length)];
+                generar(caso, generador, cartas);
+                conteo[caso.ordinal()]++;
+
+                String camino = primeraDiferencia(cartas);
+                if (camino != null) {
+                    registrarDiferencia(indice, cartas, camino);
+                    break;
+                }
+            }
+            for (int i = 0; i < conteo.length; i++) {
+                generadasPorCaso.addAndGet(i, conteo[i]);
+            }
+        }
+    }
+
+    private synchronized void registrarDiferencia(long indice, List<Carta> cartas, String camino) {
+        if (indice < indiceDiferencia) {
+            indiceDiferencia = indice;
+            manoDiferencia = new ArrayList<>(cartas);
+            caminoDiferencia = camino;
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Caminos de evaluación
+    // ---------------------------------------------------------------------
+
+    private static final String[] CAMINOS = {
+            "EvaluadorManos", "EvaluadorSieteCartas", "EvaluacionIncremental", "mejoresCinco"
+    };
+
+    //Nombre del primer camino rápido que no da la clave de referencia, o null si todos coinciden
+    static String primeraDiferencia(List<Carta> cartas) {
+        int referencia = claveReferencia(cartas);
+        for (String camino : CAMINOS) {
+            if (claveRapida(cartas, camino) != referencia) {
+                return camino;
+            }
+        }
+        return null;
+    }
+
+    private static int claveRapida(List<Carta> cartas, String camino) {
+        switch (camino) {
+            case "EvaluadorManos":
+                return EvaluadorManos.evaluar(cartas);
+            case "EvaluadorSieteCartas":
+                return EvaluadorSieteCartas.evaluar(cartas);
+            case "EvaluacionIncremental":
+                EvaluacionIncremental incremental = new EvaluacionIncremental();
+                incremental.agregarCartas(cartas);
+                return incremental.getValor();
+            default:
+                // Las 5 cartas reconstruidas deben salir de la mano y valer lo mismo
+                int clave = EvaluadorSieteCartas.evaluar(cartas);
+                ArrayList<Carta> mejores = EvaluadorSieteCartas.mejoresCinco(cartas, clave);
+                if (mejores.size() != 5 || !cartas.containsAll(mejores)) {
+                    return -1;
+                }
+                return claveReferencia(mejores);
+        }
+    }
+
+    //Clave de referencia: la mejor de las combinaciones de 5 cartas
+    static int claveReferencia(List<Carta> cartas) {
+        int n = cartas.size();
+        int mejor = -1;
+        ArrayList<Carta> cinco = new ArrayList<>(5);
+        for (int elegidas = Combinaciones.primera(5); elegidas < 1 << n; elegidas = Combinaciones.siguiente(elegidas)) {
+            cinco.clear();
+            for (int i = 0; i < n; i++) {
+                if ((elegidas & (1 << i)) != 0) {
+                    cinco.add(cartas.get(i));
+                }
+            }
+            mejor = Math.max(mejor, claveReferenciaCinco(cinco));
+        }
+        return mejor;
+    }
+
+    //Categoría con los predicados de Mano, en el orden del evaluarMano original, y
+    //desempate con los valores agrupados de mayor a menor
+    private static int claveReferenciaCinco(List<Carta> cartas) {
+        Mano mano = new Mano(new ArrayList<>(cartas));
+        int categoria;
+        if (mano.esEscaleraReal()) {
+            categoria = EvaluadorManos.ESCALERA_REAL;
+        } else if (mano.esEscaleraColor()) {
+            categoria = EvaluadorManos.ESCALERA_COLOR;
+        } else if (mano.esPoker()) {
+            categoria = EvaluadorManos.POKER;
+        } else if (mano.hayFullHouse()) {
+            categoria = EvaluadorManos.FULL_HOUSE;
+        } else if (mano.sonDelMismoPalo()) {
+            categoria = EvaluadorManos.COLOR;
+        } else if (mano.esEscalera()) {
+            categoria = EvaluadorManos.ESCALERA;
+        } else if (mano.hayTercia()) {
+            categoria = EvaluadorManos.TERCIA;
+        } else if (mano.hayDosPares()) {
+            categoria = EvaluadorManos.DOS_PARES;
+        } else if (mano.hayUnPar()) {
+            categoria = EvaluadorManos.PAR;
+        } else {
+            categoria = EvaluadorManos.CARTA_ALTA;
+        }
+
+        int[] conteo = mano.contarValores();
+        int desempate = 0;
+        if (categoria == EvaluadorManos.ESCALERA || categoria == EvaluadorManos.ESCALERA_COLOR
+                || categoria == EvaluadorManos.ESCALERA_REAL) {
+            // La escalera se desempata por su carta más alta; A-2-3-4-5 llega al 5
+            boolean baja = conteo[14] > 0 && conteo[2] > 0 && conteo[5] > 0;
+            desempate = (baja ? 5 : mano.obtenerCartaAlta()) << 16;
+        } else {
+            int desplazamiento = 16;
+            for (int repeticiones = 4; repeticiones >= 1; repeticiones--) {
+                for (int valor = 14; valor >= 2; valor--) {
+                    if (conteo[valor] == repeticiones) {
+                        desempate |= valor << desplazamiento;
+                        desplazamiento -= 4;
+                    }
+                }
+            }
+        }
+        return categoria << EvaluadorManos.BITS_CATEGORIA | desempate;
+    }
+
+    // ---------------------------------------------------------------------
+    // Generación de manos
+    // ---------------------------------------------------------------------
+
+    //Llena la lista con una mano del caso indicado, de 5 a 7 cartas distintas
+    private static void generar(Caso caso, SplittableRandom generador, ArrayList<Carta> cartas) {
+        cartas.clear();
+        long usadas = 0;
+        int tamano = 5 + generador.nextInt(3);
+        switch (caso) {
+            case ALEATORIA_5:
+                tamano = 5;
+                break;
+            case ALEATORIA_6:
+                tamano = 6;
+                break;
+            case ALEATORIA_7:
+                tamano = 7;
+                break;
+            case ESCALERA_BAJA:
+                for (int valor : new int[]{14, 2, 3, 4, 5}) {
+                    usadas = agregar(cartas, usadas, valor, generador.nextInt(4));
+                }
+                break;
+            case COLOR_Y_ESCALERA: {
+                // Cinco valores seguidos casi todos del mismo palo, y a veces más cartas de ese palo
+                int palo = generador.nextInt(4);
+                int inicio = 1 + generador.nextInt(10);
+                for (int i = 0; i < 5; i++) {
+                    int valor = inicio + i == 1 ? 14 : inicio + i;
+                    int paloCarta = generador.nextInt(4) == 0 ? generador.nextInt(4) : palo;
+                    usadas = agregar(cartas, usadas, valor, paloCarta);
+                }
+                while (cartas.size() < tamano && generador.nextBoolean()) {
+                    usadas = agregar(cartas, usadas, 2 + generador.nextInt(13), palo);
+                }
+                break;
+            }
+            case FULL_HOUSE: {
+                int tercia = 2 + generador.nextInt(13);
+                int par = otroValor(generador, tercia);
+                usadas = agregarRepetidas(cartas, usadas, tercia, 3, generador);
+                usadas = agregarRepetidas(cartas, usadas, par, 2 + (tamano == 7 ? generador.nextInt(2) : 0), generador);
+                break;
+            }
+            case DOS_PARES: {
+                int par1 = 2 + generador.nextInt(13);
+                int par2 = otroValor(generador, par1);
+                usadas = agregarRepetidas(cartas, usadas, par1, 2, generador);
+                usadas = agregarRepetidas(cartas, usadas, par2, 2, generador);
+                if (tamano >= 6 && generador.nextBoolean()) {
+                    int par3 = otroValor(generador, par1);
+                    if (par3 != par2) {
+                        usadas = agregarRepetidas(cartas, usadas, par3, 2, generador);
+                    }
+                }
+                break;
+            }
+            default:
+                break;
+        }
+        // Completar con cartas al azar
+        while (cartas.size() < tamano) {
+            int id = generador.nextInt(Carta.TOTAL_CARTAS);
+            if ((usadas & (1L << id)) == 0) {
+                usadas |= 1L << id;
+                cartas.add(Carta.obtener(id));
+            }
+        }
+        // Mezclar para que el orden de entrada no ayude a ningún evaluador
+        for (int i = cartas.size() - 1; i > 0; i--) {
+            int j = generador.nextInt(i + 1);
+            Carta temp = cartas.get(i);
+            cartas.set(i, cartas.get(j));
+            cartas.set(j, temp);
+        }
+    }
+
+    //Agrega la carta si no está ya en la mano
+    private static long agregar(ArrayList<Carta> cartas, long usadas, int valor, int palo) {
+        Carta carta = Carta.obtener(valor, palo);
+        if ((usadas & (1L << carta.getId())) != 0 || cartas.size() >= 7) {
+            return usadas;
+        }
+        cartas.add(carta);
+        return usadas | 1L << carta.getId();
+    }
+
+    //Agrega n cartas del mismo valor con palos distintos al azar
+    private static long agregarRepetidas(ArrayList<Carta> cartas, long usadas, int valor, int n, SplittableRandom generador) {
+        int primerPalo = generador.nextInt(4);
+        for (int i = 0; i < n; i++) {
+            usadas = agregar(cartas, usadas, valor, (primerPalo + i) % 4);
+        }
+        return usadas;
+    }
+
+    private static int otroValor(SplittableRandom generador, int valor) {
+        return 2 + (valor - 2 + 1 + generador.nextInt(12)) % 13;
+    }
+
+    // ---------------------------------------------------------------------
+    // Reporte
+    // ---------------------------------------------------------------------
+
+    //Quita cartas mientras la diferencia se mantenga, sin bajar de 5
+    static List<Carta> reducir(List<Carta> cartas) {
+        List<Carta> actual = new ArrayList<>(cartas);
+        boolean reducida = true;
+        while (reducida && actual.size() > 5) {
+            reducida = false;
+            for (int i = 0; i < actual.size(); i++) {
+                List<Carta> menor = new ArrayList<>(actual);
+                menor.remove(i);
+                if (primeraDiferencia(menor) != null) {
+                    actual = menor;
+                    reducida = true;
+                    break;
+                }
+            }
+        }
+        return actual;
+    }
+
+    private static String describir(int clave) {
+        if (clave < 0) {
+            return "cartas que no salen de la mano";
+        }
+        return EvaluadorManos.nombreCategoria(clave) + String.format(" (clave 0x%07X)", clave);
+    }
+
+    private static String comoCodigo(List<Carta> cartas) {
+        String[] palos = {"CORAZONES", "DIAMANTES", "TREBOLES", "ESPADAS"};
+        StringBuilder sb = new StringBuilder();
+        for (Carta carta : cartas) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append("Carta.obtener(").append(carta.getValor()).append(", Carta.").append(palos[carta.getPalo()]).append(')');
+        }
+        return sb.toString();
+    }
+}